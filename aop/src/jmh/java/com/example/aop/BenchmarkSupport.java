@@ -0,0 +1,46 @@
+package com.example.aop;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup for aop benchmarks: proxies built with the same Spring AOP infrastructure
+ * as the application context, and logging that does no I/O.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Detaches all appenders and sets the root level. Log statements still evaluate their
+     * arguments and build events when the level is enabled, but nothing is written.
+     */
+    public static void silenceLogging(Level level) {
+        var context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(level);
+    }
+
+    /**
+     * Proxies the target with the given aspect instances, applied in their @Order like the
+     * auto-proxy creator does (lower order = outer advice).
+     */
+    public static <T> T proxy(T target, Object... aspects) {
+        var ordered = new ArrayList<>(List.of(aspects));
+        AnnotationAwareOrderComparator.sort(ordered);
+
+        var factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        ordered.forEach(factory::addAspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.aop.aspect;
+
+import ch.qos.logback.classic.Level;
+import com.example.aop.BenchmarkSupport;
+import com.example.aop.aspect.audit.AuditAspect;
+import com.example.aop.aspect.audit.AuditOverflowPolicy;
+import com.example.aop.aspect.audit.AuditPipeline;
+import com.example.aop.aspect.audit.Audited;
+import com.example.aop.aspect.bulkhead.Bulkhead;
+import com.example.aop.aspect.bulkhead.BulkheadAspect;
+import com.example.aop.aspect.bulkhead.BulkheadMode;
+import com.example.aop.aspect.cache.CacheAspect;
+import com.example.aop.aspect.cache.SimpleCache;
+import com.example.aop.aspect.feature.FeatureFlagsRegistry;
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import com.example.aop.aspect.metrics.Timed;
+import com.example.aop.aspect.metrics.TimedAspect;
+import com.example.aop.aspect.ratelimit.GlobalKeyResolver;
+import com.example.aop.aspect.ratelimit.PrincipalKeyResolver;
+import com.example.aop.aspect.ratelimit.RateLimited;
+import com.example.aop.aspect.ratelimit.RateLimitingAspect;
+import com.example.aop.aspect.retry.RetryAspect;
+import com.example.aop.aspect.retry.RetryBudget;
+import com.example.aop.aspect.retry.Retryable;
+import com.example.aop.aspect.transaction.DemoTransactionAspect;
+import com.example.aop.aspect.transaction.DemoTransactional;
+import com.example.aop.aspect.transaction.FakeTransactionManager;
+import com.example.aop.aspect.validation.Min;
+import com.example.aop.aspect.validation.NotNull;
+import com.example.aop.aspect.validation.ValidateArgs;
+import com.example.aop.aspect.validation.ValidationAspect;
+import com.example.aop.controller.AccountController;
+import com.example.aop.dao.AccountDao;
+import com.example.aop.entity.Account;
+import com.example.aop.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-aspect overhead on the hot path: each configuration proxies a real bean with one aspect
+ * (or the whole ordered chain) and calls a method that aspect advises. Run with the gc profiler
+ * (enabled in build.gradle) to get bytes/op next to ns/op.
+ * <p>
+ * The AccountDao behind every AccountService is proxied with a warmed {@link CacheAspect}, so
+ * {@code slowFindById} never sleeps; {@code none} is the cost of that path without any service
+ * advice and is the baseline to subtract. Retry, rate limiting and the demo transaction have no
+ * cheap success path on the demo beans (they fail, throttle or are unused there), so they are
+ * measured on small targets below. Logging is enabled at INFO with no appenders: messages and
+ * their arguments are built, nothing is written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AspectOverheadBenchmark {
+
+    private static final Account ACCOUNT = new Account(1, "Account-1");
+
+    @Param({"none", "controllerLogging", "executionLogging", "performanceMonitoring", "timed", "cache",
+            "validation", "retry", "rateLimiting", "audit", "transaction", "bulkhead", "chain"})
+    public String aspect;
+
+    /**
+     * Share of successful calls the logging aspects log; pass {@code -p logSamplePercent=1} to
+     * compare against sampled logging.
+     */
+    @Param({"100"})
+    public double logSamplePercent;
+
+    private Callable<Object> call;
+    private AuditPipeline auditPipeline;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkSupport.silenceLogging(Level.INFO);
+
+        call = switch (aspect) {
+            case "none" -> {
+                var service = BenchmarkSupport.proxy(new AccountService(cachedDao()));
+                yield () -> service.getAccountById(1);
+            }
+            case "controllerLogging" -> {
+                var controller = BenchmarkSupport.proxy(
+                        new AccountController(new AccountService(cachedDao()), new MetricsRegistry(), new FeatureFlagsRegistry(new MetricsRegistry())),
+                        new ControllerLoggingAspect(logSampling()));
+                yield () -> controller.getAccount(1);
+            }
+            case "executionLogging" -> {
+                var service = BenchmarkSupport.proxy(new AccountService(new AccountDao()), new ExecutionLoggingAspect(logSampling()));
+                yield () -> service.createAccount("bench");
+            }
+            case "performanceMonitoring" -> {
+                var service = BenchmarkSupport.proxy(new AccountService(cachedDao()), new PerformanceMonitoringAspect());
+                yield () -> service.getAccountById(1);
+            }
+            case "timed" -> {
+                var service = BenchmarkSupport.proxy(new AccountService(cachedDao()), new TimedAspect(new MetricsRegistry()));
+                yield () -> service.getAccountById(1);
+            }
+            case "cache" -> {
+                var dao = cachedDao();
+                yield () -> dao.slowFindById(1);
+            }
+            case "validation" -> {
+                var service = BenchmarkSupport.proxy(new AccountService(cachedDao()), new ValidationAspect());
+                yield () -> service.getAccountById(1);
+            }
+            case "retry" -> {
+                var target = BenchmarkSupport.proxy(new RetryTarget(), retryAspect());
+                yield () -> target.fetch(1);
+            }
+            case "rateLimiting" -> {
+                var target = BenchmarkSupport.proxy(new RateLimitedTarget(), rateLimitingAspect());
+                yield () -> target.fetch(1);
+            }
+            case "audit" -> {
+                var service = BenchmarkSupport.proxy(new AccountService(new AccountDao()), new AuditAspect(auditPipeline()));
+                yield () -> service.createAccount("bench");
+            }
+            case "transaction" -> {
+                var target = BenchmarkSupport.proxy(new TransactionalTarget(),
+                        new DemoTransactionAspect(new FakeTransactionManager()));
+                yield () -> target.fetch(1);
+            }
+            case "bulkhead" -> {
+                // compare with "cache": same cached call with the bulkhead in front
+                var dao = BenchmarkSupport.proxy(new AccountDao(), new BulkheadAspect(new MetricsRegistry()), new CacheAspect());
+                dao.slowFindById(1);
+                yield () -> dao.slowFindById(1);
+            }
+            case "chain" -> {
+                var target = BenchmarkSupport.proxy(new ChainTarget(),
+                        new BulkheadAspect(new MetricsRegistry()),
+                        new DemoTransactionAspect(new FakeTransactionManager()),
+                        retryAspect(),
+                        new ControllerLoggingAspect(logSampling()),
+                        new ExecutionLoggingAspect(logSampling()),
+                        new PerformanceMonitoringAspect(),
+                        new TimedAspect(new MetricsRegistry()),
+                        new ValidationAspect(),
+                        rateLimitingAspect(),
+                        new AuditAspect(auditPipeline()),
+                        new CacheAspect());
+                yield () -> target.fetch(1);
+            }
+            default -> throw new IllegalArgumentException("Unknown aspect: " + aspect);
+        };
+        call.call();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (auditPipeline != null) {
+            auditPipeline.stop();
+        }
+    }
+
+    @Benchmark
+    public Object invoke() throws Exception {
+        return call.call();
+    }
+
+    /**
+     * Audit events are dropped when the writer falls behind, so the benchmark measures only what
+     * the caller pays.
+     */
+    private AuditPipeline auditPipeline() throws Exception {
+        auditPipeline = new AuditPipeline(new ObjectMapper().findAndRegisterModules(), new MetricsRegistry(),
+                Files.createTempDirectory("aop-audit-bench").toString(), 8192, AuditOverflowPolicy.DROP, 256, 5, 16 << 20);
+        auditPipeline.start();
+        return auditPipeline;
+    }
+
+    private LogSampling logSampling() {
+        return new LogSampling(logSamplePercent, 1_000);
+    }
+
+    private static AccountDao cachedDao() {
+        var dao = BenchmarkSupport.proxy(new AccountDao(), new CacheAspect());
+        dao.slowFindById(1);
+        return dao;
+    }
+
+    private static RetryAspect retryAspect() {
+        return new RetryAspect(new RetryBudget(0.2, 100), new MetricsRegistry());
+    }
+
+    private static RateLimitingAspect rateLimitingAspect() {
+        return new RateLimitingAspect(List.of(new GlobalKeyResolver(), new PrincipalKeyResolver()));
+    }
+
+    public static class RetryTarget {
+
+        @Retryable
+        public Account fetch(int id) {
+            return ACCOUNT;
+        }
+    }
+
+    public static class RateLimitedTarget {
+
+        @RateLimited(requestsPerSecond = Integer.MAX_VALUE, keyResolver = GlobalKeyResolver.class)
+        public Account fetch(int id) {
+            return ACCOUNT;
+        }
+    }
+
+    public static class TransactionalTarget {
+
+        @DemoTransactional
+        public Account fetch(int id) {
+            return ACCOUNT;
+        }
+    }
+
+    /**
+     * One method carrying every annotation, so a call walks the full chain in @Order order and
+     * ends on a cache hit.
+     */
+    @RestController
+    public static class ChainTarget {
+
+        @Bulkhead(mode = BulkheadMode.ADAPTIVE)
+        @DemoTransactional
+        @Retryable
+        @ExecutionLogging
+        @MonitorPerformance(thresholdMs = 1_000)
+        @Timed(name = "bench.chain")
+        @ValidateArgs
+        @RateLimited(requestsPerSecond = Integer.MAX_VALUE, keyResolver = GlobalKeyResolver.class)
+        @Audited(action = "READ", entity = "Account")
+        @SimpleCache
+        public Account fetch(@NotNull @Min(1) Integer id) {
+            return ACCOUNT;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.aop.aspect.cache;
+
+import ch.qos.logback.classic.Level;
+import com.example.aop.BenchmarkSupport;
+import com.example.aop.dao.AccountDao;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the @SimpleCache hit path with composite {@link CacheKey}s against the previous
+ * signature + Arrays.toString string keys.
+ * <p>
+ * Run with {@code ./gradlew :aop:jmh -PjmhIncludes=CacheKeyBenchmark}; the gc profiler
+ * reports the allocation rate (gc.alloc.rate.norm = bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheKeyBenchmark {
+
+    private static final String TOKEN = "AccountDao.slowFindById(..)";
+
+    private AccountDao legacyProxy;
+    private AccountDao compositeProxy;
+    private Object[] args;
+
+    @Setup
+    public void setUp() {
+        // Plain logback defaults to DEBUG; at INFO CacheAspect skips its hit log, like the legacy aspect.
+        BenchmarkSupport.silenceLogging(Level.INFO);
+        legacyProxy = BenchmarkSupport.proxy(new AccountDao(), new LegacyStringKeyCacheAspect());
+        compositeProxy = BenchmarkSupport.proxy(new AccountDao(), new CacheAspect());
+        args = new Object[]{1};
+
+        // Warm both caches so every measured call is a hit.
+        legacyProxy.slowFindById(1);
+        compositeProxy.slowFindById(1);
+    }
+
+    @Benchmark
+    public Object legacyStringKeyHit() {
+        return legacyProxy.slowFindById(1);
+    }
+
+    @Benchmark
+    public Object compositeKeyHit() {
+        return compositeProxy.slowFindById(1);
+    }
+
+    @Benchmark
+    public int legacyStringKeyOnly() {
+        return (TOKEN + Arrays.toString(args)).hashCode();
+    }
+
+    @Benchmark
+    public int compositeKeyOnly() {
+        return CacheKey.of(TOKEN, args).hashCode();
+    }
+
+    /**
+     * The CacheAspect implementation before composite keys, kept here as the baseline.
+     */
+    @Aspect
+    public static class LegacyStringKeyCacheAspect {
+
+        private final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<>();
+
+        @Around("@annotation(com.example.aop.aspect.cache.SimpleCache)")
+        public Object cacheResult(ProceedingJoinPoint joinPoint) throws Throwable {
+            var key = joinPoint.getSignature().toShortString() + Arrays.toString(joinPoint.getArgs());
+
+            if (cache.containsKey(key)) {
+                return cache.get(key);
+            }
+
+            var result = joinPoint.proceed();
+            if (result != null) {
+                cache.put(key, result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.aop.aspect.validation;
+
+import ch.qos.logback.classic.Level;
+import com.example.aop.BenchmarkSupport;
+import com.example.aop.aspect.cache.CacheAspect;
+import com.example.aop.dao.AccountDao;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of @ValidateArgs on a cached {@code AccountDao.slowFindById}:
+ * no validation, the previous reflective aspect, and precompiled {@link ValidationPlan}s.
+ * <p>
+ * Run with {@code ./gradlew :aop:jmh -PjmhIncludes=ValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private AccountDao cacheOnly;
+    private AccountDao reflective;
+    private AccountDao compiled;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging(Level.WARN);
+
+        cacheOnly = BenchmarkSupport.proxy(new AccountDao(), new CacheAspect());
+        reflective = BenchmarkSupport.proxy(new AccountDao(), new ReflectiveValidationAspect(), new CacheAspect());
+        compiled = BenchmarkSupport.proxy(new AccountDao(), new ValidationAspect(), new CacheAspect());
+
+        // Warm the caches so only advice overhead is measured.
+        cacheOnly.slowFindById(1);
+        reflective.slowFindById(1);
+        compiled.slowFindById(1);
+    }
+
+    @Benchmark
+    public Object baselineNoValidation() {
+        return cacheOnly.slowFindById(1);
+    }
+
+    @Benchmark
+    public Object reflectiveValidation() {
+        return reflective.slowFindById(1);
+    }
+
+    @Benchmark
+    public Object compiledPlanValidation() {
+        return compiled.slowFindById(1);
+    }
+
+    /**
+     * The ValidationAspect implementation before validation plans, kept here as the baseline.
+     */
+    @Aspect
+    public static class ReflectiveValidationAspect {
+
+        @Before("@annotation(com.example.aop.aspect.validation.ValidateArgs)")
+        public void validate(JoinPoint joinPoint) {
+            var signature = (MethodSignature) joinPoint.getSignature();
+            var parameters = signature.getMethod().getParameters();
+            var args = joinPoint.getArgs();
+
+            for (int i = 0; i < parameters.length; i++) {
+                var parameter = parameters[i];
+                var value = args[i];
+                var paramName = parameter.getName();
+
+                if (parameter.isAnnotationPresent(NotNull.class) && value == null) {
+                    throw new IllegalArgumentException("Parameter '" + paramName + "' must not be null");
+                }
+
+                var min = parameter.getAnnotation(Min.class);
+                if (min != null && value != null && ((Number) value).longValue() < min.value()) {
+                    throw new IllegalArgumentException("Parameter '" + paramName + "' must be >= " + min.value());
+                }
+
+                var max = parameter.getAnnotation(Max.class);
+                if (max != null && value != null && ((Number) value).longValue() > max.value()) {
+                    throw new IllegalArgumentException("Parameter '" + paramName + "' must be <= " + max.value());
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.aop.aspect;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -7,17 +8,22 @@ import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.MDC;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller logging aspect with correlation IDs for distributed tracing.
  * Automatically intercepts all @RestController methods to provide:
- * - Unique correlation ID per request (propagated via MDC)
- * - Entry/exit logging with arguments and results
+ * - Correlation ID per request (propagated via MDC), reused from the {@value #CORRELATION_ID_HEADER} header when present
+ * - Entry/exit logging with arguments and results for a sample of successful calls ({@link LogSampling})
  * - Request duration tracking
- * - Exception logging with timing
+ * - Exception and slow-call logging with timing, for every call
+ * <p>
+ * Arguments and results are only rendered when the line is actually logged.
  * <p>
  * This aspect is specifically for the web layer. For business logic logging,
  * use @ExecutionLogging annotation with ExecutionLoggingAspect.
@@ -26,27 +32,43 @@ import java.util.UUID;
 @Aspect
 @Order(1)
 @Component
+@RequiredArgsConstructor
 public class ControllerLoggingAspect {
     private static final String CORRELATION_ID_KEY = "correlationId";
+    static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    private static final int MAX_CORRELATION_ID_LENGTH = 64;
+
+    private final LogSampling logSampling;
 
     @Around("@within(org.springframework.web.bind.annotation.RestController)")
     public Object logControllerMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        var correlationId = generateCorrelationId();
-        var methodName = joinPoint.getSignature().toShortString();
+        var correlationId = resolveCorrelationId();
 
         MDC.put(CORRELATION_ID_KEY, correlationId);
         try {
-            log.info("[{}] Entering: {} with args: {}", correlationId, methodName, Arrays.toString(joinPoint.getArgs()));
+            var sampled = log.isInfoEnabled() && logSampling.sampleSuccess();
+            if (sampled) {
+                log.info("[{}] Entering: {} with args: {}",
+                        correlationId, joinPoint.getSignature().toShortString(), Arrays.toString(joinPoint.getArgs()));
+            }
 
-            var start = System.currentTimeMillis();
+            var start = System.nanoTime();
             try {
                 var result = joinPoint.proceed();
-                var duration = System.currentTimeMillis() - start;
-                log.info("[{}] Exiting: {} in {}ms with result: {}", correlationId, methodName, duration, summarizeResult(result));
+                var duration = System.nanoTime() - start;
+                if (sampled) {
+                    log.info("[{}] Exiting: {} in {}ms with result: {}",
+                            correlationId, joinPoint.getSignature().toShortString(), toMillis(duration), summarizeResult(result));
+                } else if (logSampling.isSlow(duration) && log.isWarnEnabled()) {
+                    log.warn("[{}] Slow: {} took {}ms with args: {}",
+                            correlationId, joinPoint.getSignature().toShortString(), toMillis(duration), Arrays.toString(joinPoint.getArgs()));
+                }
                 return result;
             } catch (Exception e) {
-                var duration = System.currentTimeMillis() - start;
-                log.error("[{}] Exception in {} after {}ms: {}", correlationId, methodName, duration, e.getMessage());
+                var duration = System.nanoTime() - start;
+                log.error("[{}] Exception in {} after {}ms: {} (args: {})",
+                        correlationId, joinPoint.getSignature().toShortString(), toMillis(duration), e.getMessage(),
+                        Arrays.toString(joinPoint.getArgs()));
                 throw e;
             }
         } finally {
@@ -54,8 +76,40 @@ public class ControllerLoggingAspect {
         }
     }
 
-    private String generateCorrelationId() {
-        return UUID.randomUUID().toString().substring(0, 8);
+    /**
+     * Reuses a well-formed incoming header so one ID follows the request across services;
+     * otherwise generates 16 hex digits from a thread-local random.
+     */
+    private String resolveCorrelationId() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            var incoming = attributes.getRequest().getHeader(CORRELATION_ID_HEADER);
+            if (isWellFormed(incoming)) {
+                return incoming;
+            }
+        }
+        var id = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return id.length() == 16 ? id : "0".repeat(16 - id.length()) + id;
+    }
+
+    /**
+     * Only short IDs made of letters, digits, '-', '_' and '.' are accepted, so a client cannot
+     * inject line breaks or huge values into every log line.
+     */
+    private static boolean isWellFormed(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_CORRELATION_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            var c = id.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
     }
 
     private String summarizeResult(Object result) {
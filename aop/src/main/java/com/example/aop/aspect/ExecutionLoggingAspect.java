@@ -1,5 +1,6 @@
 package com.example.aop.aspect;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -8,43 +9,61 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for logging method execution details when annotated with @ExecutionLogging.
  * Provides detailed logging of method signature, arguments, execution time, and return values.
  * <p>
+ * Successful calls are logged for a sample only ({@link LogSampling}); failures and slow calls
+ * are always logged. Arguments and results are only rendered when the line is actually logged.
+ * <p>
  * Use this aspect to opt-in specific methods for detailed execution tracking.
  */
 @Slf4j
 @Aspect
 @Order(2)
 @Component
+@RequiredArgsConstructor
 public class ExecutionLoggingAspect {
 
+    private final LogSampling logSampling;
+
     @Around("@annotation(ExecutionLogging)")
     public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
         var signature = joinPoint.getSignature();
-        var args = joinPoint.getArgs();
+        var sampled = log.isInfoEnabled() && logSampling.sampleSuccess();
 
-        log.info("Executing: {} with args: {}", signature.toShortString(), Arrays.toString(args));
+        if (sampled) {
+            log.info("Executing: {} with args: {}", signature.toShortString(), Arrays.toString(joinPoint.getArgs()));
+        }
 
-        var start = System.currentTimeMillis();
+        var start = System.nanoTime();
         try {
             var result = joinPoint.proceed();
-            var duration = System.currentTimeMillis() - start;
+            var duration = System.nanoTime() - start;
 
-            log.info("Completed: {} in {}ms with result: {}",
-                    signature.toShortString(), duration, summarizeResult(result));
+            if (sampled) {
+                log.info("Completed: {} in {}ms with result: {}",
+                        signature.toShortString(), toMillis(duration), summarizeResult(result));
+            } else if (logSampling.isSlow(duration) && log.isWarnEnabled()) {
+                log.warn("Slow: {} took {}ms with args: {}",
+                        signature.toShortString(), toMillis(duration), Arrays.toString(joinPoint.getArgs()));
+            }
 
             return result;
         } catch (Throwable e) {
-            var duration = System.currentTimeMillis() - start;
-            log.error("Failed: {} after {}ms with exception: {}",
-                    signature.toShortString(), duration, e.getMessage());
+            var duration = System.nanoTime() - start;
+            log.error("Failed: {} after {}ms with exception: {} (args: {})",
+                    signature.toShortString(), toMillis(duration), e.getMessage(), Arrays.toString(joinPoint.getArgs()));
             throw e;
         }
     }
 
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
     private String summarizeResult(Object result) {
         if (result == null) {
             return "null";
@@ -0,0 +1,101 @@
+package com.example.aop.aspect;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+
+/**
+ * Lets advice continue an invocation on another thread (hedged attempts, background cache
+ * refreshes). Inner aspects look the invocation up through {@link ExposeInvocationInterceptor}
+ * to match and bind their parameters, and that thread-local is empty on a worker thread; running
+ * through this class exposes the caller's invocation there. Everything but {@link #proceed()} is
+ * delegated to the caller's invocation.
+ */
+public final class ExposedInvocation implements ProxyMethodInvocation {
+
+    private final ProxyMethodInvocation delegate;
+    private final Proceed proceed;
+
+    private ExposedInvocation(ProxyMethodInvocation delegate, Proceed proceed) {
+        this.delegate = delegate;
+        this.proceed = proceed;
+    }
+
+    /**
+     * Must be called on the caller thread, while the invocation is exposed there;
+     * typically {@code ExposedInvocation.capture(joinPoint::proceed)}.
+     */
+    public static ExposedInvocation capture(Proceed proceed) {
+        return new ExposedInvocation((ProxyMethodInvocation) ExposeInvocationInterceptor.currentInvocation(), proceed);
+    }
+
+    /**
+     * Proceeds on the current thread with the caller's invocation exposed.
+     */
+    public Object run() throws Throwable {
+        return ExposeInvocationInterceptor.INSTANCE.invoke(this);
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+        return proceed.proceed();
+    }
+
+    @Override
+    public Object getProxy() {
+        return delegate.getProxy();
+    }
+
+    @Override
+    public MethodInvocation invocableClone() {
+        return delegate.invocableClone();
+    }
+
+    @Override
+    public MethodInvocation invocableClone(Object... arguments) {
+        return delegate.invocableClone(arguments);
+    }
+
+    @Override
+    public void setArguments(Object... arguments) {
+        delegate.setArguments(arguments);
+    }
+
+    @Override
+    public void setUserAttribute(String key, Object value) {
+        delegate.setUserAttribute(key, value);
+    }
+
+    @Override
+    public Object getUserAttribute(String key) {
+        return delegate.getUserAttribute(key);
+    }
+
+    @Override
+    public Method getMethod() {
+        return delegate.getMethod();
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return delegate.getArguments();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+
+    @Override
+    public AccessibleObject getStaticPart() {
+        return delegate.getStaticPart();
+    }
+
+    @FunctionalInterface
+    public interface Proceed {
+        Object proceed() throws Throwable;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.aop.aspect;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling policy shared by the logging aspects.
+ * <p>
+ * Whether a call's success path is logged is decided once, before the call, so its entry and
+ * exit lines are either both present or both absent. Failures and calls slower than the
+ * threshold are always logged, with their arguments, regardless of the sample.
+ */
+@Component
+public class LogSampling {
+
+    private final double successSamplePercent;
+    private final long slowThresholdNanos;
+
+    public LogSampling(@Value("${aop.logging.success-sample-percent:100}") double successSamplePercent,
+                       @Value("${aop.logging.slow-threshold-ms:1000}") long slowThresholdMs) {
+        if (successSamplePercent < 0 || successSamplePercent > 100) {
+            throw new IllegalArgumentException(
+                    "aop.logging.success-sample-percent must be within [0, 100] but was " + successSamplePercent);
+        }
+        this.successSamplePercent = successSamplePercent;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    public boolean sampleSuccess() {
+        if (successSamplePercent >= 100) {
+            return true;
+        }
+        return successSamplePercent > 0 && ThreadLocalRandom.current().nextDouble(100) < successSamplePercent;
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= slowThresholdNanos;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.aop.aspect.audit;
+
+import org.aspectj.lang.Signature;
+
+/**
+ * What the caller thread captures for one audited call: references only, no rendering.
+ * Arguments and result are turned into strings later on the audit writer thread, so objects
+ * mutated right after the call may be recorded in their mutated state.
+ */
+record AuditEvent(long timestampMillis, String user, Audited audited, Signature signature,
+                  Object[] args, Object result, Throwable exception) {
+}
@@ -0,0 +1,17 @@
+package com.example.aop.aspect.audit;
+
+/**
+ * What an audited call does when the audit buffer is full.
+ */
+public enum AuditOverflowPolicy {
+
+    /**
+     * Drop the event and count it in {@code audit.dropped}; the caller never waits.
+     */
+    DROP,
+
+    /**
+     * Park the caller until the writer frees a slot, so no event is lost while the pipeline runs.
+     */
+    BLOCK
+}
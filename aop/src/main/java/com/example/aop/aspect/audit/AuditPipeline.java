@@ -0,0 +1,180 @@
+package com.example.aop.aspect.audit;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves audit events off the caller thread.
+ * <p>
+ * {@link AuditAspect} publishes a cheap {@link AuditEvent} into a bounded {@link RingBuffer};
+ * a single writer thread drains it in batches, renders each event into an {@link AuditLog},
+ * serializes it as a JSON line and appends it to memory-mapped segment files. When the buffer is
+ * full the {@link AuditOverflowPolicy} decides between dropping and blocking the caller. Only the
+ * newest {@code max-segments} segment files are kept.
+ * Counters {@code audit.published|dropped|written|failed} and gauges {@code audit.queue-depth|queue-capacity}
+ * are published to the {@link MetricsRegistry}.
+ */
+@Slf4j
+@Component
+public class AuditPipeline {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int RESULT_SUMMARY_LENGTH = 200;
+
+    private final ObjectMapper objectMapper;
+    private final RingBuffer<AuditEvent> buffer;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long idleParkNanos;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final LongAdder published;
+    private final LongAdder dropped;
+    private final LongAdder written;
+    private final LongAdder failed;
+
+    private volatile boolean running;
+    private AuditSegmentWriter segmentWriter;
+    private Thread writerThread;
+
+    public AuditPipeline(ObjectMapper objectMapper,
+                         MetricsRegistry metricsRegistry,
+                         @Value("${aop.audit.directory:${java.io.tmpdir}/aop-audit}") String directory,
+                         @Value("${aop.audit.buffer-capacity:8192}") int bufferCapacity,
+                         @Value("${aop.audit.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+                         @Value("${aop.audit.batch-size:256}") int batchSize,
+                         @Value("${aop.audit.flush-interval-ms:5}") long flushIntervalMs,
+                         @Value("${aop.audit.segment-size-bytes:16777216}") int segmentBytes,
+                         @Value("${aop.audit.max-segments:64}") int maxSegments) {
+        this.objectMapper = objectMapper;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.idleParkNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.published = metricsRegistry.counter("audit.published");
+        this.dropped = metricsRegistry.counter("audit.dropped");
+        this.written = metricsRegistry.counter("audit.written");
+        this.failed = metricsRegistry.counter("audit.failed");
+        metricsRegistry.gauge("audit.queue-depth", buffer::size);
+        metricsRegistry.gauge("audit.queue-capacity", buffer::capacity);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        segmentWriter = new AuditSegmentWriter(directory, segmentBytes, maxSegments);
+        running = true;
+        writerThread = Thread.ofPlatform().name("audit-writer").daemon().start(this::runWriter);
+    }
+
+    /**
+     * Writes everything already published, then closes the current segment.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    void publish(AuditEvent event) {
+        if (buffer.offer(event)) {
+            published.increment();
+            return;
+        }
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK) {
+            while (running) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    published.increment();
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    Path currentSegment() {
+        return segmentWriter.currentSegment();
+    }
+
+    long writtenCount() {
+        return written.sum();
+    }
+
+    private void runWriter() {
+        var batch = new ArrayList<AuditEvent>(batchSize);
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(idleParkNanos);
+                continue;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+        try {
+            segmentWriter.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit segment {}: {}", segmentWriter.currentSegment(), e.getMessage());
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        for (var event : batch) {
+            try {
+                var auditLog = render(event);
+                segmentWriter.append(objectMapper.writeValueAsBytes(auditLog));
+                written.increment();
+                log.debug("AUDIT: {}", auditLog);
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("Failed to write audit event for {}: {}", event.signature().toShortString(), e.getMessage());
+            }
+        }
+    }
+
+    private static AuditLog render(AuditEvent event) {
+        var audited = event.audited();
+        var failure = event.exception();
+        return AuditLog.builder()
+                .timestamp(Instant.ofEpochMilli(event.timestampMillis()))
+                .user(event.user())
+                .action(failure == null ? audited.action() : audited.action() + "_FAILED")
+                .entity(audited.entity())
+                .method(event.signature().toShortString())
+                .args(Arrays.toString(event.args()))
+                .result(failure == null ? summarizeResult(event.result()) : "EXCEPTION: " + failure.getMessage())
+                .build();
+    }
+
+    private static String summarizeResult(Object result) {
+        if (result == null) {
+            return "null";
+        }
+        var str = result.toString();
+        if (str.length() > RESULT_SUMMARY_LENGTH) {
+            return str.substring(0, RESULT_SUMMARY_LENGTH) + "...";
+        }
+        return str;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.aop.aspect.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Appends records to memory-mapped segment files named {@code audit-<index>.log}.
+ * <p>
+ * A segment is mapped at its full size up front, so appending is a memory copy. When a record
+ * does not fit, the segment is forced to disk, truncated to the bytes written and a new one is
+ * started. A segment left open by a crash keeps its zero padding; readers stop at the first NUL.
+ * If rotating fails, the writer is left without a segment and the next append tries again.
+ * <p>
+ * With {@code maxSegments} above zero, opening a segment (at startup and on every rotation)
+ * deletes the oldest segments beyond that count, so disk use stays within about
+ * {@code maxSegments * segmentBytes}.
+ * Not thread-safe: only the audit writer thread appends.
+ */
+@Slf4j
+final class AuditSegmentWriter implements Closeable {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private long segmentIndex;
+    private Path segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    /**
+     * @param maxSegments segments kept on disk, including the current one; 0 keeps all
+     */
+    AuditSegmentWriter(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        if (segmentBytes < 1) {
+            throw new IllegalArgumentException("segmentBytes must be >= 1 but was " + segmentBytes);
+        }
+        if (maxSegments < 0) {
+            throw new IllegalArgumentException("maxSegments must be >= 0 but was " + maxSegments);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.segmentIndex = lastSegmentIndex(directory);
+        openNextSegment(segmentBytes);
+    }
+
+    /**
+     * Writes the record followed by a newline, rotating first if it does not fit.
+     */
+    void append(byte[] record) throws IOException {
+        var needed = record.length + 1;
+        if (buffer != null && buffer.remaining() < needed) {
+            sealSegment();
+        }
+        if (buffer == null) {
+            openNextSegment(Math.max(segmentBytes, needed));
+        }
+        buffer.put(record).put((byte) '\n');
+    }
+
+    Path currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            sealSegment();
+        }
+    }
+
+    private void openNextSegment(int size) throws IOException {
+        while (true) {
+            var candidate = directory.resolve(PREFIX + "%010d".formatted(++segmentIndex) + SUFFIX);
+            FileChannel opened;
+            try {
+                opened = FileChannel.open(candidate,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            try {
+                buffer = opened.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    opened.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            channel = opened;
+            segment = candidate;
+            deleteOldSegments();
+            return;
+        }
+    }
+
+    /**
+     * Forgets the segment before sealing it, so a failure here is not repeated on every later append.
+     */
+    private void sealSegment() throws IOException {
+        var sealing = channel;
+        var written = buffer;
+        channel = null;
+        buffer = null;
+        try (sealing) {
+            written.force();
+            sealing.truncate(written.position());
+        }
+    }
+
+    /**
+     * Keeps the newest {@code maxSegments} segments. Audit records matter less than the append
+     * that triggered the cleanup, so a file that cannot be deleted is logged and left for the next rotation.
+     */
+    private void deleteOldSegments() {
+        if (maxSegments == 0) {
+            return;
+        }
+        List<Path> segments;
+        try (var files = Files.list(directory)) {
+            segments = files.filter(path -> isSegment(path.getFileName().toString()))
+                    .sorted(Comparator.comparingLong(path -> indexOf(path.getFileName().toString())))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list audit segments in {}: {}", directory, e.getMessage());
+            return;
+        }
+        for (var old : segments.subList(0, Math.max(0, segments.size() - maxSegments))) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                log.warn("Failed to delete old audit segment {}: {}", old, e.getMessage());
+            }
+        }
+    }
+
+    private static long lastSegmentIndex(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(AuditSegmentWriter::isSegment)
+                    .mapToLong(AuditSegmentWriter::indexOf)
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private static boolean isSegment(String name) {
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long indexOf(String name) {
+        return parseIndex(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static long parseIndex(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.aop.aspect.batch;
+
+public class BatchTimeoutException extends RuntimeException {
+    public BatchTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.aop.aspect.batch;
+
+import java.lang.annotation.*;
+
+/**
+ * Coalesces concurrent calls to a single-key method into one call of a bulk method on the same
+ * bean (DataLoader style). The annotated method must take exactly one argument, the key; the
+ * bulk method must be public and take a {@code List} of keys. It returns either a {@code List}
+ * with one result per key, in key order, or a {@code Map} from key to result.
+ * <p>
+ * The annotated method's body is not used while the aspect is active; keep it equivalent to a
+ * bulk call with a single key so self-invocation still works.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Batched {
+
+    /**
+     * Name of the bulk method on the same bean.
+     */
+    String bulkMethod();
+
+    /**
+     * How long a batch collects keys after its first key arrives, in milliseconds.
+     */
+    long windowMs() default 2;
+
+    /**
+     * Batch size that triggers the bulk call before the window closes.
+     */
+    int maxBatch() default 100;
+
+    /**
+     * How long a caller waits for its result before failing with {@link BatchTimeoutException}.
+     */
+    long maxWaitMs() default 1_000;
+}
@@ -0,0 +1,112 @@
+package com.example.aop.aspect.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects keys for one @Batched method into windows and dispatches each window as one bulk call.
+ * <p>
+ * A window opens with its first key and is dispatched when it reaches {@code maxBatch} keys or
+ * when the window timer fires, whichever comes first. Duplicate keys within a window share one
+ * slot. The lock only guards swapping the current window; bulk calls run on the dispatcher.
+ */
+final class Batcher {
+
+    @FunctionalInterface
+    interface BulkCall {
+        Object call(List<Object> keys) throws Throwable;
+    }
+
+    private final BulkCall bulkCall;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final ScheduledExecutorService timer;
+    private final Executor dispatcher;
+    private final LongAdder batches;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Object, CompletableFuture<Object>> window;
+
+    Batcher(BulkCall bulkCall, int maxBatch, long windowNanos,
+            ScheduledExecutorService timer, Executor dispatcher, LongAdder batches) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch must be >= 1 but was " + maxBatch);
+        }
+        this.bulkCall = bulkCall;
+        this.maxBatch = maxBatch;
+        this.windowNanos = windowNanos;
+        this.timer = timer;
+        this.dispatcher = dispatcher;
+        this.batches = batches;
+    }
+
+    CompletableFuture<Object> submit(Object key) {
+        Map<Object, CompletableFuture<Object>> full = null;
+        CompletableFuture<Object> result;
+        lock.lock();
+        try {
+            if (window == null) {
+                var opened = new LinkedHashMap<Object, CompletableFuture<Object>>();
+                window = opened;
+                timer.schedule(() -> close(opened), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            result = window.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (window.size() >= maxBatch) {
+                full = window;
+                window = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void close(Map<Object, CompletableFuture<Object>> expired) {
+        lock.lock();
+        try {
+            if (window != expired) {
+                return; // already dispatched because it filled up
+            }
+            window = null;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(expired);
+    }
+
+    private void dispatch(Map<Object, CompletableFuture<Object>> batch) {
+        dispatcher.execute(() -> {
+            batches.increment();
+            var keys = new ArrayList<>(batch.keySet());
+            try {
+                complete(batch, keys, bulkCall.call(keys));
+            } catch (Throwable e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+
+    private static void complete(Map<Object, CompletableFuture<Object>> batch, List<Object> keys, Object results) {
+        if (results instanceof Map<?, ?> byKey) {
+            batch.forEach((key, future) -> future.complete(byKey.get(key)));
+        } else if (results instanceof List<?> inOrder && inOrder.size() == keys.size()) {
+            for (int i = 0; i < keys.size(); i++) {
+                batch.get(keys.get(i)).complete(inOrder.get(i));
+            }
+        } else {
+            var error = new IllegalStateException("Bulk call for " + keys.size() + " keys returned "
+                    + (results instanceof List<?> list ? list.size() + " results" : results));
+            batch.values().forEach(future -> future.completeExceptionally(error));
+        }
+    }
+}
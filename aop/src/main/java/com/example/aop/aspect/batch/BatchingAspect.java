@@ -0,0 +1,102 @@
+package com.example.aop.aspect.batch;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aspect implementing @Batched: each call parks on a future while its key joins the current
+ * window of a per-method {@link Batcher}; the bulk method is then invoked once for the whole
+ * window through the bean's proxy, so its own aspects (e.g. @Timed) still apply.
+ * <p>
+ * Counters {@code batch.<Class.method>.calls|batches} are published to the {@link MetricsRegistry};
+ * their ratio is the average batch size.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class BatchingAspect {
+
+    private final MetricsRegistry metricsRegistry;
+    private final ScheduledExecutorService windowTimer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("batch-window").daemon().factory());
+    private final ExecutorService dispatcher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("batch-", 0).factory());
+    private final ConcurrentHashMap<BatcherKey, MethodBatcher> batchers = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    void shutdown() {
+        windowTimer.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    @Around("@annotation(batched)")
+    public Object batch(ProceedingJoinPoint joinPoint, Batched batched) throws Throwable {
+        var args = joinPoint.getArgs();
+        if (args.length != 1 || args[0] == null) {
+            return joinPoint.proceed();
+        }
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var methodBatcher = batchers.computeIfAbsent(new BatcherKey(joinPoint.getTarget(), method),
+                key -> newBatcher(key, joinPoint.getThis(), batched));
+        methodBatcher.calls().increment();
+
+        // Callers of the same key in one window share this future, so a timeout leaves it alone.
+        var result = methodBatcher.batcher().submit(args[0]);
+        try {
+            return result.get(batched.maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new BatchTimeoutException("No result for key " + args[0] + " from "
+                    + joinPoint.getSignature().toShortString() + " within " + batched.maxWaitMs() + "ms");
+        }
+    }
+
+    private MethodBatcher newBatcher(BatcherKey key, Object proxy, Batched batched) {
+        var method = key.method();
+        var bulkMethod = ReflectionUtils.findMethod(method.getDeclaringClass(), batched.bulkMethod(), List.class);
+        if (bulkMethod == null) {
+            throw new IllegalStateException("@Batched on " + method + " refers to missing bulk method "
+                    + batched.bulkMethod() + "(List)");
+        }
+        ReflectionUtils.makeAccessible(bulkMethod);
+        var prefix = "batch." + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ".";
+        var batcher = new Batcher(keys -> invokeBulk(bulkMethod, proxy, keys), batched.maxBatch(),
+                TimeUnit.MILLISECONDS.toNanos(batched.windowMs()), windowTimer, dispatcher,
+                metricsRegistry.counter(prefix + "batches"));
+        return new MethodBatcher(batcher, metricsRegistry.counter(prefix + "calls"));
+    }
+
+    private static Object invokeBulk(Method bulkMethod, Object proxy, List<Object> keys) throws Throwable {
+        try {
+            return bulkMethod.invoke(proxy, keys);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record BatcherKey(Object target, Method method) {
+    }
+
+    private record MethodBatcher(Batcher batcher, LongAdder calls) {
+    }
+}
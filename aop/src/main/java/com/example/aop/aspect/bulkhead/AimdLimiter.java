@@ -0,0 +1,71 @@
+package com.example.aop.aspect.bulkhead;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit driven by call latency.
+ * <p>
+ * A call slower than the slow-call threshold cuts the limit by 10%. Fast calls earn credit, and
+ * once a whole limit's worth of fast calls has completed while at least half of the limit was in
+ * use, the limit grows by one, i.e. roughly +1 per round trip under load. Requiring that usage
+ * keeps an idle method from inflating its limit. All state is in atomics; no call ever waits.
+ */
+final class AimdLimiter implements ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long slowCallNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger increaseCredits = new AtomicInteger();
+
+    AimdLimiter(int initialLimit, int minLimit, int maxLimit, long slowCallMs) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("expected 1 <= minLimit <= maxLimit but was " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release(long latencyNanos) {
+        var inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > slowCallNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * BACKOFF_RATIO)));
+            increaseCredits.set(0);
+            return;
+        }
+        var current = limit.get();
+        if (current < maxLimit && inFlightBefore * 2 >= current && increaseCredits.incrementAndGet() >= current) {
+            increaseCredits.set(0);
+            limit.compareAndSet(current, current + 1);
+        }
+    }
+
+    @Override
+    public int limit() {
+        return limit.get();
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.aop.aspect.bulkhead;
+
+import java.lang.annotation.*;
+
+/**
+ * Caps concurrent calls into the annotated method. Calls over the limit fail immediately with
+ * {@link BulkheadFullException} instead of queueing.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    BulkheadMode mode() default BulkheadMode.FIXED;
+
+    /**
+     * Maximum in-flight calls in {@link BulkheadMode#FIXED} mode; initial limit in {@link BulkheadMode#ADAPTIVE} mode.
+     */
+    int limit() default 25;
+
+    /**
+     * Lowest limit the adaptive mode may shrink to.
+     */
+    int minLimit() default 1;
+
+    /**
+     * Highest limit the adaptive mode may grow to.
+     */
+    int maxLimit() default 200;
+
+    /**
+     * Adaptive mode: a call slower than this (in milliseconds) signals congestion and shrinks the limit.
+     */
+    long slowCallMs() default 1_000;
+}
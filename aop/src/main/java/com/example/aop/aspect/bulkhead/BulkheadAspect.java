@@ -0,0 +1,69 @@
+package com.example.aop.aspect.bulkhead;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aspect enforcing @Bulkhead with one {@link ConcurrencyLimiter} per method.
+ * <p>
+ * It runs outside retries and transactions, so a logical call holds one permit for all of its
+ * attempts and a rejected call never starts a transaction. Gauges
+ * {@code bulkhead.<Class.method>.limit|in-flight} and counter {@code bulkhead.<Class.method>.rejected}
+ * are published to the {@link MetricsRegistry}.
+ */
+@Slf4j
+@Aspect
+@Order(-2)
+@Component
+@RequiredArgsConstructor
+public class BulkheadAspect {
+
+    private final MetricsRegistry metricsRegistry;
+    private final ConcurrentHashMap<Method, MethodBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Around("@annotation(bulkhead)")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var methodBulkhead = bulkheads.computeIfAbsent(method, m -> register(m, bulkhead));
+        var limiter = methodBulkhead.limiter();
+
+        if (!limiter.tryAcquire()) {
+            methodBulkhead.rejected().increment();
+            log.warn("BULKHEAD FULL: {} ({} in flight, limit {})",
+                    joinPoint.getSignature().toShortString(), limiter.inFlight(), limiter.limit());
+            throw new BulkheadFullException("Too many concurrent calls to " + joinPoint.getSignature().toShortString());
+        }
+
+        var start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private MethodBulkhead register(Method method, Bulkhead bulkhead) {
+        ConcurrencyLimiter limiter = switch (bulkhead.mode()) {
+            case FIXED -> new FixedLimiter(bulkhead.limit());
+            case ADAPTIVE -> new AimdLimiter(bulkhead.limit(), bulkhead.minLimit(), bulkhead.maxLimit(), bulkhead.slowCallMs());
+        };
+        var prefix = "bulkhead." + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ".";
+        metricsRegistry.gauge(prefix + "limit", limiter::limit);
+        metricsRegistry.gauge(prefix + "in-flight", limiter::inFlight);
+        return new MethodBulkhead(limiter, metricsRegistry.counter(prefix + "rejected"));
+    }
+
+    private record MethodBulkhead(ConcurrencyLimiter limiter, LongAdder rejected) {
+    }
+}
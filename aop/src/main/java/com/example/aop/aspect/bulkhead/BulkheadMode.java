@@ -0,0 +1,15 @@
+package com.example.aop.aspect.bulkhead;
+
+public enum BulkheadMode {
+
+    /**
+     * Semaphore with {@link Bulkhead#limit()} permits.
+     */
+    FIXED,
+
+    /**
+     * Limit starts at {@link Bulkhead#limit()} and follows observed latency (AIMD) within
+     * [{@link Bulkhead#minLimit()}, {@link Bulkhead#maxLimit()}].
+     */
+    ADAPTIVE
+}
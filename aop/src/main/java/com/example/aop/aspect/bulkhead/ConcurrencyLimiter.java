@@ -0,0 +1,18 @@
+package com.example.aop.aspect.bulkhead;
+
+/**
+ * Non-blocking admission for one @Bulkhead method.
+ */
+interface ConcurrencyLimiter {
+
+    boolean tryAcquire();
+
+    /**
+     * Returns the permit of a call admitted by {@link #tryAcquire()} that took {@code latencyNanos}.
+     */
+    void release(long latencyNanos);
+
+    int limit();
+
+    int inFlight();
+}
@@ -0,0 +1,40 @@
+package com.example.aop.aspect.bulkhead;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fixed limit backed by a {@link Semaphore}; only the non-blocking {@code tryAcquire} is used.
+ */
+final class FixedLimiter implements ConcurrencyLimiter {
+
+    private final int limit;
+    private final Semaphore permits;
+
+    FixedLimiter(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be >= 1 but was " + limit);
+        }
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    @Override
+    public void release(long latencyNanos) {
+        permits.release();
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.aop.aspect.cache;
+
+/**
+ * Admission policy applied when a bounded @SimpleCache is full.
+ */
+public enum Admission {
+    /**
+     * W-TinyLFU: a new entry only displaces the eviction victim if it has been
+     * requested more often recently. Protects hot keys from one-off scans.
+     */
+    TINY_LFU,
+    /**
+     * Always admit the new entry and evict the least recently used one.
+     */
+    ALWAYS
+}
@@ -0,0 +1,461 @@
+package com.example.aop.aspect.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded, optionally expiring cache backing @SimpleCache.
+ * <p>
+ * Eviction follows W-TinyLFU: new entries land in a small LRU window (1% of capacity),
+ * then compete for a place in the main segmented LRU (probation + protected). When the
+ * main region is full, a {@link FrequencySketch} decides whether the window candidate
+ * or the main region's LRU victim is more popular and keeps that one.
+ * <p>
+ * Lookups are lock-free reads of a ConcurrentHashMap. Policy bookkeeping (LRU order,
+ * frequency counts) runs under a lock that readers only ever {@code tryLock}, so under
+ * heavy contention some access records are dropped instead of blocking callers.
+ * <p>
+ * Loads are single-flight: concurrent misses on the same key wait for one in-flight load
+ * and share its result or exception.
+ * <p>
+ * With a refresh interval, a hit on an entry older than that interval still returns the
+ * stale value and hands a reload to the refresh executor. The reload shares the single-flight
+ * slot with ordinary loads, so a key is never reloaded twice at once, and a full executor just
+ * skips the refresh until a later hit. A failed reload keeps the old value; the expiry interval
+ * remains the hard limit on how long it is served.
+ */
+public final class BoundedCache<K, V> {
+
+    private static final int DEAD = -1;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedQueue = new AccessOrderDeque<>();
+    private final FrequencySketch sketch;
+
+    private final long maxWindow;
+    private final long maxMain;
+    private final long maxProtected;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor refreshExecutor;
+    private final Admission admission;
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshesSkipped = new LongAdder();
+
+    public BoundedCache(long maximumSize, long expireAfterWriteMs, Admission admission) {
+        this(maximumSize, expireAfterWriteMs, -1, admission, null, System::nanoTime);
+    }
+
+    /**
+     * @param refreshAfterWriteMs soft TTL; positive values require a larger {@code expireAfterWriteMs}
+     * @param refreshExecutor     runs background reloads; should be bounded, rejections skip the refresh
+     */
+    public BoundedCache(long maximumSize, long expireAfterWriteMs, long refreshAfterWriteMs,
+                        Admission admission, Executor refreshExecutor) {
+        this(maximumSize, expireAfterWriteMs, refreshAfterWriteMs, admission, refreshExecutor, System::nanoTime);
+    }
+
+    BoundedCache(long maximumSize, long expireAfterWriteMs, Admission admission, LongSupplier ticker) {
+        this(maximumSize, expireAfterWriteMs, -1, admission, null, ticker);
+    }
+
+    BoundedCache(long maximumSize, long expireAfterWriteMs, long refreshAfterWriteMs,
+                 Admission admission, Executor refreshExecutor, LongSupplier ticker) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be >= 1 but was " + maximumSize);
+        }
+        if (refreshAfterWriteMs > 0) {
+            if (expireAfterWriteMs <= refreshAfterWriteMs) {
+                throw new IllegalArgumentException("refreshAfterWriteMs (" + refreshAfterWriteMs
+                        + ") requires a larger expireAfterWriteMs but was " + expireAfterWriteMs);
+            }
+            if (refreshExecutor == null) {
+                throw new IllegalArgumentException("refreshAfterWriteMs requires a refresh executor");
+            }
+        }
+        this.maxWindow = Math.max(1, maximumSize / 100);
+        this.maxMain = maximumSize - maxWindow;
+        this.maxProtected = (long) (maxMain * 0.8);
+        this.expireAfterWriteNanos = expireAfterWriteMs > 0 ? TimeUnit.MILLISECONDS.toNanos(expireAfterWriteMs) : 0;
+        this.refreshAfterWriteNanos = refreshAfterWriteMs > 0 ? TimeUnit.MILLISECONDS.toNanos(refreshAfterWriteMs) : 0;
+        this.refreshExecutor = refreshExecutor;
+        this.admission = admission;
+        this.ticker = ticker;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws Throwable;
+    }
+
+    /**
+     * Returns the cached value, or null when the key is absent or expired.
+     */
+    public V getIfPresent(K key) {
+        var node = data.get(key);
+        if (node == null || isExpired(node, ticker.getAsLong())) {
+            misses.increment();
+            recordAccess(key.hashCode(), null);
+            return null;
+        }
+        hits.increment();
+        recordAccess(node.hash, node);
+        return node.value;
+    }
+
+    /**
+     * Returns the cached value, or null when the key is absent or expired. If the value is
+     * past the refresh interval it is still returned, and {@code reloader} is scheduled on
+     * the refresh executor unless a load for the key is already in flight.
+     */
+    public V getIfPresent(K key, Loader<? extends V> reloader) {
+        return getIfPresent(key, reloader, (k, loader) -> loader);
+    }
+
+    /**
+     * Like {@link #getIfPresent(Object, Loader)}, but the reloader is only created, on the
+     * calling thread, when the value is due for refresh. With a non-capturing factory a fresh
+     * hit allocates nothing.
+     */
+    public <C> V getIfPresent(K key, C context, BiFunction<? super K, ? super C, ? extends Loader<? extends V>> reloaderFactory) {
+        var node = data.get(key);
+        long now = ticker.getAsLong();
+        if (node == null || isExpired(node, now)) {
+            misses.increment();
+            recordAccess(key.hashCode(), null);
+            return null;
+        }
+        hits.increment();
+        recordAccess(node.hash, node);
+        var value = node.value;
+        if (needsRefresh(node, now)) {
+            refresh(key, value, reloaderFactory.apply(key, context));
+        }
+        return value;
+    }
+
+    public boolean refreshes() {
+        return refreshAfterWriteNanos > 0;
+    }
+
+    /**
+     * Returns the cached value, loading it on a miss.
+     */
+    public V get(K key, Loader<? extends V> loader) throws Throwable {
+        var value = getIfPresent(key);
+        return value != null ? value : load(key, loader);
+    }
+
+    /**
+     * Loads the value for a key that just missed. Only one caller per key runs the loader;
+     * concurrent callers wait for its outcome. Null results are returned but not cached.
+     */
+    public V load(K key, Loader<? extends V> loader) throws Throwable {
+        var call = new CompletableFuture<V>();
+        var inFlight = loading.putIfAbsent(key, call);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            // Another load may have completed between the caller's miss and our registration.
+            var node = data.get(key);
+            if (node != null && !isExpired(node, ticker.getAsLong())) {
+                call.complete(node.value);
+                return node.value;
+            }
+            V value = loader.load();
+            loads.increment();
+            if (value != null) {
+                put(key, value);
+            }
+            call.complete(value);
+            return value;
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+            throw t;
+        } finally {
+            loading.remove(key, call);
+        }
+    }
+
+    private void refresh(K key, V stale, Loader<? extends V> reloader) {
+        var call = new CompletableFuture<V>();
+        if (loading.putIfAbsent(key, call) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V value = reloader.load();
+                    refreshes.increment();
+                    if (value != null) {
+                        put(key, value);
+                    } else {
+                        invalidate(key);
+                    }
+                    call.complete(value);
+                } catch (Throwable t) {
+                    refreshFailures.increment();
+                    call.completeExceptionally(t);
+                } finally {
+                    loading.remove(key, call);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesSkipped.increment();
+            loading.remove(key, call);
+            // Anyone who joined in the meantime gets what a hit would have returned.
+            call.complete(stale);
+        }
+    }
+
+    public void put(K key, V value) {
+        policyLock.lock();
+        try {
+            long now = ticker.getAsLong();
+            var node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.writeTime = now;
+                onAccess(node);
+                return;
+            }
+            node = new Node<>(key, value, now);
+            data.put(key, node);
+            node.queue = WINDOW;
+            window.addLast(node);
+            evictEntries();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        policyLock.lock();
+        try {
+            var node = data.get(key);
+            if (node != null) {
+                unlink(node);
+                data.remove(key, node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void clear() {
+        policyLock.lock();
+        try {
+            data.values().forEach(node -> node.queue = DEAD);
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public long estimatedSize() {
+        return data.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), data.size(),
+                refreshes.sum(), refreshFailures.sum(), refreshesSkipped.sum());
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos;
+    }
+
+    private boolean needsRefresh(Node<K, V> node, long now) {
+        return refreshAfterWriteNanos > 0 && now - node.writeTime >= refreshAfterWriteNanos;
+    }
+
+    private void recordAccess(int hash, Node<K, V> node) {
+        // Lossy by design: a busy lock means another thread is already maintaining the policy.
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(hash);
+            if (node != null) {
+                onAccess(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> window.moveToBack(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                while (protectedQueue.size > maxProtected) {
+                    var demoted = protectedQueue.first;
+                    protectedQueue.remove(demoted);
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+            case PROTECTED -> protectedQueue.moveToBack(node);
+            default -> {
+                // evicted concurrently; nothing to reorder
+            }
+        }
+    }
+
+    private void evictEntries() {
+        while (window.size > maxWindow) {
+            var candidate = window.first;
+            window.remove(candidate);
+            if (probation.size + protectedQueue.size < maxMain) {
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+                continue;
+            }
+            var victim = probation.first != null ? probation.first : protectedQueue.first;
+            if (victim != null && admit(candidate, victim)) {
+                evict(victim);
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+            } else {
+                candidate.queue = DEAD;
+                evict(candidate);
+            }
+        }
+    }
+
+    private boolean admit(Node<K, V> candidate, Node<K, V> victim) {
+        if (admission == Admission.ALWAYS) {
+            return true;
+        }
+        return sketch.frequency(candidate.hash) > sketch.frequency(victim.hash);
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> window.remove(node);
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> protectedQueue.remove(node);
+            default -> {
+                // already detached
+            }
+        }
+        node.queue = DEAD;
+    }
+
+    private static <V> V await(CompletableFuture<V> call) throws Throwable {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Refresh counts only cover background reloads; a rising failure count with a flat refresh
+     * count means callers are being served stale values until the hard TTL.
+     */
+    public record Stats(long hitCount, long missCount, long loadCount, long evictionCount, long size,
+                        long refreshCount, long refreshFailureCount, long refreshSkippedCount) {
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final int hash;
+        private volatile V value;
+        private volatile long writeTime;
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.hash = key.hashCode();
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    private static final class AccessOrderDeque<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+        private long size;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+            size = 0;
+        }
+    }
+}
@@ -1,43 +1,136 @@
 package com.example.aop.aspect.cache;
 
+import com.example.aop.aspect.ExposedInvocation;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Aspect that caches method return values based on method signature and arguments.
  * Demonstrates how @Around advice can conditionally skip proceed().
+ * <p>
+ * Every annotated method owns a {@link BoundedCache} sized from its @SimpleCache attributes,
+ * so heap usage stays bounded and concurrent misses on a cold key run the method only once.
+ * Keys are {@link CacheKey}s built from a per-method token and the raw arguments.
+ * <p>
+ * Methods with a refresh interval are served stale-while-revalidate: background reloads run
+ * on one small pool shared by all caches, with a bounded queue so a slow backend cannot pile
+ * up reload tasks. The reload continues the original invocation, so inner aspects still apply.
  */
 @Slf4j
 @Aspect
 @Component
 public class CacheAspect {
 
-    private final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, MethodCache> caches = new ConcurrentHashMap<>();
 
-    @Around("@annotation(com.example.aop.aspect.cache.SimpleCache)")
-    public Object cacheResult(ProceedingJoinPoint joinPoint) throws Throwable {
-        var key = joinPoint.getSignature().toShortString() + Arrays.toString(joinPoint.getArgs());
+    @Value("${aop.cache.refresh.threads:4}")
+    private int refreshThreads = 4;
 
-        if (cache.containsKey(key)) {
-            log.info("CACHE HIT: {} - returning cached result", key);
-            return cache.get(key);
+    @Value("${aop.cache.refresh.queue-capacity:1000}")
+    private int refreshQueueCapacity = 1000;
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    @Around("@annotation(simpleCache)")
+    public Object cacheResult(ProceedingJoinPoint joinPoint, SimpleCache simpleCache) throws Throwable {
+        var signature = (MethodSignature) joinPoint.getSignature();
+        var methodCache = caches.computeIfAbsent(signature.getMethod(), m -> newCache(signature, simpleCache));
+        var cache = methodCache.cache();
+        var key = CacheKey.of(methodCache.token(), joinPoint.getArgs());
+
+        var cached = cache.refreshes()
+                ? cache.getIfPresent(key, joinPoint, CacheAspect::reloader)
+                : cache.getIfPresent(key);
+        if (cached != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("CACHE HIT: {} - returning cached result", key);
+            }
+            return cached;
         }
 
-        log.info("CACHE MISS: {} - executing method", key);
-        var result = joinPoint.proceed();
-        if (result != null) {
-            cache.put(key, result);
+        if (log.isDebugEnabled()) {
+            log.debug("CACHE MISS: {} - executing method", key);
         }
-        return result;
+        return cache.load(key, joinPoint::proceed);
+    }
+
+    /**
+     * Created on the caller thread, and only when the entry is due for refresh, so a fresh hit
+     * allocates nothing here.
+     */
+    private static BoundedCache.Loader<Object> reloader(CacheKey key, ProceedingJoinPoint joinPoint) {
+        var invocation = ExposedInvocation.capture(joinPoint::proceed);
+        return () -> {
+            try {
+                var value = invocation.run();
+                log.debug("CACHE REFRESH: {}", key);
+                return value;
+            } catch (Throwable t) {
+                log.warn("CACHE REFRESH FAILED: {} - keeping stale value until it expires: {}", key, t.toString());
+                throw t;
+            }
+        };
     }
 
     public void clearCache() {
-        cache.clear();
+        caches.values().forEach(methodCache -> methodCache.cache().clear());
+    }
+
+    public Map<String, BoundedCache.Stats> stats() {
+        var result = new LinkedHashMap<String, BoundedCache.Stats>();
+        caches.forEach((method, methodCache) ->
+                result.put(method.getDeclaringClass().getSimpleName() + "." + method.getName(), methodCache.cache().stats()));
+        return result;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    private MethodCache newCache(MethodSignature signature, SimpleCache simpleCache) {
+        var cache = simpleCache.refreshAfterWriteMs() > 0
+                ? new BoundedCache<CacheKey, Object>(simpleCache.maximumSize(), simpleCache.expireAfterWriteMs(),
+                        simpleCache.refreshAfterWriteMs(), simpleCache.admission(), refreshExecutor())
+                : new BoundedCache<CacheKey, Object>(
+                        simpleCache.maximumSize(), simpleCache.expireAfterWriteMs(), simpleCache.admission());
+        return new MethodCache(signature.toShortString(), cache);
+    }
+
+    private synchronized ThreadPoolExecutor refreshExecutor() {
+        if (refreshExecutor == null) {
+            var threadCount = new AtomicInteger();
+            refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(refreshQueueCapacity), runnable -> {
+                var thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            refreshExecutor.allowCoreThreadTimeOut(true);
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * The token is created once per method and compared by identity inside {@link CacheKey}.
+     */
+    private record MethodCache(String token, BoundedCache<CacheKey, Object> cache) {
     }
 }
@@ -0,0 +1,52 @@
+package com.example.aop.aspect.cache;
+
+import java.util.Arrays;
+
+/**
+ * Composite @SimpleCache key made of a per-method identity token and the raw argument values.
+ * <p>
+ * The hash is computed once on construction and equality compares arguments with
+ * {@code equals}, so keys never render strings and arguments with ambiguous
+ * {@code toString} output cannot collide. Strings are only built when the key is logged.
+ */
+public final class CacheKey {
+
+    private final Object token;
+    private final Object[] args;
+    private final int hash;
+
+    private CacheKey(Object token, Object[] args) {
+        this.token = token;
+        this.args = args;
+        this.hash = 31 * token.hashCode() + Arrays.deepHashCode(args);
+    }
+
+    /**
+     * @param token identity of the cached method; compared by reference, so callers must reuse one instance per method
+     * @param args  the invocation arguments; not copied, so the array must not be mutated afterwards
+     */
+    public static CacheKey of(Object token, Object[] args) {
+        return new CacheKey(token, args);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CacheKey other
+                && hash == other.hash
+                && token == other.token
+                && Arrays.deepEquals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return token + Arrays.deepToString(args);
+    }
+}
@@ -5,9 +5,40 @@ import java.lang.annotation.*;
 /**
  * Custom caching annotation (not Spring's @Cacheable).
  * Caches method return values based on their arguments.
+ * <p>
+ * Each annotated method gets its own bounded cache. Concurrent misses on the
+ * same key share a single invocation of the method.
+ * <p>
+ * With {@link #refreshAfterWriteMs()} set, entries older than that soft TTL are still
+ * returned immediately while the method is re-run in the background (stale-while-revalidate);
+ * {@link #expireAfterWriteMs()} is then the hard TTL after which a stale value is never served.
  */
 @Documented
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SimpleCache {
+
+    /**
+     * Maximum number of entries kept for the annotated method.
+     */
+    long maximumSize() default 10_000;
+
+    /**
+     * Optional time-to-live in milliseconds, measured from when the value was loaded.
+     * Non-positive values mean entries never expire (they are still size-bounded).
+     */
+    long expireAfterWriteMs() default -1;
+
+    /**
+     * Optional soft TTL in milliseconds. A hit on an entry at least this old returns the cached
+     * value and reloads it asynchronously; non-positive values disable background refresh.
+     * Requires a larger {@link #expireAfterWriteMs()}, so a loader that keeps failing cannot
+     * serve stale values forever.
+     */
+    long refreshAfterWriteMs() default -1;
+
+    /**
+     * Policy deciding whether a new entry may displace an existing one when the cache is full.
+     */
+    Admission admission() default Admission.TINY_LFU;
 }
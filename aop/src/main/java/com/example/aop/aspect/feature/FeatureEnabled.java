@@ -4,10 +4,19 @@ import java.lang.annotation.*;
 
 /**
  * Guards method execution behind a named runtime feature flag.
+ * <p>
+ * Partial rollouts are evaluated per subject: the value of {@link #subject()} when set,
+ * otherwise the authenticated principal of the current web request.
  */
 @Documented
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface FeatureEnabled {
     String value();
+
+    /**
+     * SpEL expression over the method arguments naming the rollout subject
+     * (e.g. {@code "#tenantId"} or {@code "#p0"}).
+     */
+    String subject() default "";
 }
@@ -0,0 +1,73 @@
+package com.example.aop.aspect.feature;
+
+import java.util.Set;
+
+/**
+ * Immutable rollout rule for one flag.
+ * <p>
+ * A subject (user, tenant, ...) sees the flag on when the flag is enabled and the subject is
+ * either listed in {@link #segments()} or hashes into the first {@link #percentage()} percent of
+ * {@value #BUCKETS} buckets. The hash is salted with the flag name, so each flag samples a
+ * different slice of subjects, and raising the percentage only ever adds subjects.
+ *
+ * @param enabled    kill switch; when false the flag is off for everyone
+ * @param percentage share of subjects (0-100, fractions allowed) that see the flag
+ * @param segments   subjects that always see the flag while it is enabled
+ */
+public record FeatureFlag(boolean enabled, double percentage, Set<String> segments) {
+
+    static final int BUCKETS = 10_000;
+
+    public FeatureFlag {
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("percentage must be within [0, 100] but was " + percentage);
+        }
+        segments = Set.copyOf(segments);
+    }
+
+    public static FeatureFlag on() {
+        return new FeatureFlag(true, 100, Set.of());
+    }
+
+    public static FeatureFlag off() {
+        return new FeatureFlag(false, 0, Set.of());
+    }
+
+    public static FeatureFlag rollout(double percentage, Set<String> segments) {
+        return new FeatureFlag(true, percentage, segments);
+    }
+
+    /**
+     * Evaluation without a subject: only a full rollout counts as on.
+     */
+    boolean isOn() {
+        return enabled && percentage >= 100;
+    }
+
+    boolean isOn(String flag, String subject) {
+        if (!enabled) {
+            return false;
+        }
+        if (percentage >= 100) {
+            return true;
+        }
+        if (subject == null) {
+            return false;
+        }
+        return segments.contains(subject) || bucket(flag, subject) < percentage * (BUCKETS / 100);
+    }
+
+    /**
+     * Stable across JVMs: {@link String#hashCode()} is specified, and the mix spreads
+     * similar keys (user-1, user-2, ...) evenly over the buckets.
+     */
+    static int bucket(String flag, String subject) {
+        long h = ((long) flag.hashCode() << 32) ^ (subject.hashCode() & 0xffffffffL);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Long.remainderUnsigned(h, BUCKETS);
+    }
+}
@@ -5,8 +5,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Aspect
@@ -21,13 +31,32 @@ public class FeatureFlagAspect {
 
     private final FeatureFlagsRegistry featureFlagsRegistry;
 
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConcurrentHashMap<String, Expression> expressions = new ConcurrentHashMap<>();
+
     @Around("@annotation(featureEnabled)")
     public Object guardFeature(ProceedingJoinPoint joinPoint, FeatureEnabled featureEnabled) throws Throwable {
         var flag = featureEnabled.value();
-        if (!featureFlagsRegistry.isEnabled(flag)) {
-            log.warn("FEATURE DISABLED: {} for {}", flag, joinPoint.getSignature().toShortString());
+        var subject = subject(joinPoint, featureEnabled);
+        if (!featureFlagsRegistry.isEnabled(flag, subject)) {
+            log.warn("FEATURE DISABLED: {} for {} (subject: {})", flag, joinPoint.getSignature().toShortString(), subject);
             throw new FeatureDisabledException("Feature '" + flag + "' is disabled");
         }
         return joinPoint.proceed();
     }
+
+    private String subject(ProceedingJoinPoint joinPoint, FeatureEnabled featureEnabled) {
+        if (!featureEnabled.subject().isBlank()) {
+            var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            var context = new MethodBasedEvaluationContext(null, method, joinPoint.getArgs(), parameterNameDiscoverer);
+            var value = expressions.computeIfAbsent(featureEnabled.subject(), parser::parseExpression).getValue(context);
+            return value != null ? value.toString() : null;
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            var principal = attributes.getRequest().getUserPrincipal();
+            return principal != null ? principal.getName() : null;
+        }
+        return null;
+    }
 }
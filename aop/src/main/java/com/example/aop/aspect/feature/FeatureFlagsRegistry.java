@@ -1,28 +1,72 @@
 package com.example.aop.aspect.feature;
 
+import com.example.aop.aspect.metrics.MetricsRegistry;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Runtime feature flags with percentage and segment rollouts (see {@link FeatureFlag}).
+ * <p>
+ * All flags live in one immutable map that updates copy and publish through a volatile field,
+ * so evaluation is a plain read with no locking or boxing. Updates are rare and serialized.
+ * Each flag counts its evaluations as {@code feature.<flag>.on|off} in {@link MetricsRegistry}.
+ */
 @Component
 public class FeatureFlagsRegistry {
 
-    private final ConcurrentHashMap<String, Boolean> flags = new ConcurrentHashMap<>();
+    private final MetricsRegistry metricsRegistry;
+    private volatile Map<String, Entry> flags = Map.of();
 
-    public FeatureFlagsRegistry() {
-        flags.put("new-pricing-algorithm", true);
+    public FeatureFlagsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+        set("new-pricing-algorithm", FeatureFlag.on());
     }
 
+    /**
+     * True only when the flag is fully rolled out; use {@link #isEnabled(String, String)} for partial rollouts.
+     */
     public boolean isEnabled(String flag) {
-        return flags.getOrDefault(flag, false);
+        var entry = flags.get(flag);
+        return entry != null && entry.count(entry.flag.isOn());
+    }
+
+    /**
+     * @param subject stable key the rollout is bucketed by (user, tenant, ...); null only matches full rollouts
+     */
+    public boolean isEnabled(String flag, String subject) {
+        var entry = flags.get(flag);
+        return entry != null && entry.count(entry.flag.isOn(flag, subject));
     }
 
     public void set(String flag, boolean enabled) {
-        flags.put(flag, enabled);
+        set(flag, enabled ? FeatureFlag.on() : FeatureFlag.off());
+    }
+
+    public synchronized void set(String flag, FeatureFlag rule) {
+        var updated = new HashMap<>(flags);
+        var previous = updated.get(flag);
+        updated.put(flag, previous != null
+                ? new Entry(rule, previous.on, previous.off)
+                : new Entry(rule, metricsRegistry.counter("feature." + flag + ".on"),
+                metricsRegistry.counter("feature." + flag + ".off")));
+        flags = Map.copyOf(updated);
     }
 
-    public Map<String, Boolean> snapshot() {
-        return Map.copyOf(flags);
+    public Map<String, FeatureFlag> snapshot() {
+        var result = new TreeMap<String, FeatureFlag>();
+        flags.forEach((name, entry) -> result.put(name, entry.flag));
+        return result;
+    }
+
+    private record Entry(FeatureFlag flag, LongAdder on, LongAdder off) {
+
+        boolean count(boolean result) {
+            (result ? on : off).increment();
+            return result;
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.example.aop.aspect.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-method token bucket capping hedges to a percentage of calls: every call deposits
+ * {@code percent / 100} of a token, every hedge spends one, and at most {@value #MAX_HEDGES}
+ * hedges can be saved up. Tokens are kept in thousandths in a single {@link AtomicLong}.
+ */
+final class HedgeBudget {
+
+    private static final long SCALE = 1_000;
+    private static final long MAX_HEDGES = 10;
+    private static final long MAX_BALANCE = MAX_HEDGES * SCALE;
+
+    private final long depositPerCall;
+    private final AtomicLong balance = new AtomicLong(MAX_BALANCE);
+
+    HedgeBudget(double maxHedgePercent) {
+        if (maxHedgePercent < 0 || maxHedgePercent > 100) {
+            throw new IllegalArgumentException("maxHedgePercent must be within [0, 100] but was " + maxHedgePercent);
+        }
+        this.depositPerCall = Math.round(maxHedgePercent / 100 * SCALE);
+    }
+
+    void recordCall() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= MAX_BALANCE) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(current + depositPerCall, MAX_BALANCE)));
+    }
+
+    boolean canAfford() {
+        return balance.get() >= SCALE;
+    }
+
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.aop.aspect.hedge;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an idempotent read for request hedging: if the first attempt has not returned after the
+ * hedge delay, a second attempt is started and whichever finishes first wins.
+ * <p>
+ * Only use this on methods that are safe to run twice concurrently.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Hedged {
+
+    /**
+     * Fixed hedge delay in milliseconds. Negative values use the p95 of the method's
+     * {@code @Timed} metric; until that metric has enough samples, calls are not hedged.
+     */
+    long delayMs() default -1;
+
+    /**
+     * Upper bound on hedged calls, as a percentage of all calls to the method.
+     */
+    double maxHedgePercent() default 10;
+}
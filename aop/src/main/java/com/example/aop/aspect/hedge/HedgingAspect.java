@@ -0,0 +1,206 @@
+package com.example.aop.aspect.hedge;
+
+import com.example.aop.aspect.ExposedInvocation;
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import com.example.aop.aspect.metrics.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.MDC;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aspect implementing @Hedged: when the first attempt is slower than the hedge delay, a second
+ * attempt starts and the first successful one is returned; the other is cancelled (interrupted).
+ * <p>
+ * Attempts run on virtual threads so the caller can return whichever finishes first. When no
+ * delay is known yet or the {@link HedgeBudget} is empty, the call runs inline on the caller
+ * thread and costs nothing extra. It runs inside {@code TimedAspect}, so the p95 used as delay is
+ * the latency callers see. Counters {@code hedge.<Class.method>.issued|won|capped} are published
+ * to the {@link MetricsRegistry}.
+ */
+@Slf4j
+@Aspect
+@Order(5)
+@Component
+@RequiredArgsConstructor
+public class HedgingAspect {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MIN_SAMPLES = 20;
+
+    private final MetricsRegistry metricsRegistry;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedge-", 0).factory());
+    private final ConcurrentHashMap<Method, HedgeState> states = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Around("@annotation(hedged)")
+    public Object hedge(ProceedingJoinPoint joinPoint, Hedged hedged) throws Throwable {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var state = states.computeIfAbsent(method, m -> newState(m, hedged));
+        state.budget.recordCall();
+
+        var delayNanos = state.delayNanos(System.nanoTime());
+        if (delayNanos < 0 || !state.budget.canAfford()) {
+            return joinPoint.proceed();
+        }
+
+        var race = new Race();
+        var invocation = ExposedInvocation.capture(joinPoint::proceed);
+        var mdc = MDC.getCopyOfContextMap();
+        var primary = executor.submit(() -> race.run(invocation, mdc, false));
+        Future<?> hedge = null;
+        try {
+            Winner winner;
+            try {
+                winner = race.outcome.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (!state.budget.tryAcquire()) {
+                    state.capped.increment();
+                } else if (race.addAttempt()) {
+                    state.issued.increment();
+                    log.debug("HEDGE: {} still running after {}µs, starting second attempt",
+                            joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMicros(delayNanos));
+                    hedge = executor.submit(() -> race.run(invocation, mdc, true));
+                }
+                winner = race.outcome.get();
+            }
+            if (winner.hedge()) {
+                state.won.increment();
+                primary.cancel(true);
+            } else if (hedge != null) {
+                hedge.cancel(true);
+            }
+            return winner.value();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private HedgeState newState(Method method, Hedged hedged) {
+        var timed = AnnotationUtils.findAnnotation(method, Timed.class);
+        var prefix = "hedge." + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ".";
+        if (hedged.delayMs() < 0 && timed == null) {
+            log.warn("@Hedged on {} has no delayMs and no @Timed metric; calls will not be hedged", method);
+        }
+        return new HedgeState(
+                new HedgeBudget(hedged.maxHedgePercent()),
+                hedged.delayMs() >= 0 ? Math.max(MIN_DELAY_NANOS, TimeUnit.MILLISECONDS.toNanos(hedged.delayMs())) : -1,
+                timed != null ? timed.name() : null,
+                metricsRegistry.counter(prefix + "issued"),
+                metricsRegistry.counter(prefix + "won"),
+                metricsRegistry.counter(prefix + "capped"));
+    }
+
+    private final class HedgeState {
+
+        private final HedgeBudget budget;
+        private final long fixedDelayNanos;
+        private final String timerName;
+        private final LongAdder issued;
+        private final LongAdder won;
+        private final LongAdder capped;
+        private volatile long observedDelayNanos = -1;
+        private volatile long nextRefreshNanos = System.nanoTime();
+
+        private HedgeState(HedgeBudget budget, long fixedDelayNanos, String timerName,
+                           LongAdder issued, LongAdder won, LongAdder capped) {
+            this.budget = budget;
+            this.fixedDelayNanos = fixedDelayNanos;
+            this.timerName = timerName;
+            this.issued = issued;
+            this.won = won;
+            this.capped = capped;
+        }
+
+        /**
+         * The fixed delay, or the @Timed p95 re-read at most once per second; -1 when unknown.
+         */
+        long delayNanos(long now) {
+            if (fixedDelayNanos >= 0 || timerName == null) {
+                return fixedDelayNanos;
+            }
+            if (now - nextRefreshNanos >= 0) {
+                nextRefreshNanos = now + DELAY_REFRESH_NANOS;
+                observedDelayNanos = observedP95();
+            }
+            return observedDelayNanos;
+        }
+
+        private long observedP95() {
+            var snapshot = metricsRegistry.snapshot(timerName);
+            if (snapshot == null) {
+                return -1;
+            }
+            var percentiles = snapshot.window().count() >= MIN_SAMPLES ? snapshot.window() : snapshot.cumulative();
+            return percentiles.count() >= MIN_SAMPLES ? Math.max(MIN_DELAY_NANOS, percentiles.p95Nanos()) : -1;
+        }
+    }
+
+    /**
+     * First successful attempt completes the outcome; a failure only completes it once no other
+     * attempt is pending.
+     */
+    private static final class Race {
+
+        private final CompletableFuture<Winner> outcome = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        boolean addAttempt() {
+            if (outcome.isDone()) {
+                return false;
+            }
+            pending.incrementAndGet();
+            return true;
+        }
+
+        void run(ExposedInvocation invocation, Map<String, String> mdc, boolean hedge) {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                outcome.complete(new Winner(invocation.run(), hedge));
+            } catch (Throwable e) {
+                if (pending.decrementAndGet() == 0) {
+                    outcome.completeExceptionally(e);
+                }
+            } finally {
+                MDC.clear();
+            }
+        }
+    }
+
+    private record Winner(Object value, boolean hedge) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.aop.aspect.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Records durations for one metric into a cumulative histogram and a sliding time window.
+ * <p>
+ * The window is a ring of histograms, each covering one slot of time. A writer that lands on a
+ * slot still holding an older period claims it with a CAS on the slot's epoch and clears it, so
+ * rotation needs no lock. Samples racing with that clear may be dropped, which only makes the
+ * window view approximate at slot boundaries; the cumulative view is always exact.
+ */
+final class LatencyRecorder {
+
+    private final StripedHistogram cumulative = new StripedHistogram();
+    private final WindowSlot[] slots;
+    private final long slotNanos;
+    private final LongSupplier ticker;
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyRecorder(long windowNanos, int slotCount, LongSupplier ticker) {
+        this.slots = new WindowSlot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new WindowSlot();
+        }
+        this.slotNanos = Math.max(1, windowNanos / slotCount);
+        this.ticker = ticker;
+    }
+
+    void record(long nanos) {
+        cumulative.record(nanos);
+        currentSlot(Math.floorDiv(ticker.getAsLong(), slotNanos)).histogram.record(nanos);
+        if (nanos > max.get()) {
+            max.accumulateAndGet(nanos, Math::max);
+        }
+        if (nanos < min.get()) {
+            min.accumulateAndGet(nanos, Math::min);
+        }
+    }
+
+    MetricsRegistry.MetricSnapshot snapshot() {
+        var counts = new long[StripedHistogram.BUCKET_COUNT];
+        var sum = cumulative.drainInto(counts);
+        var total = percentiles(counts, max.get());
+        var mean = total.count() == 0 ? 0.0 : (double) sum / total.count();
+
+        var window = percentiles(windowCounts(), Long.MAX_VALUE);
+
+        return new MetricsRegistry.MetricSnapshot(
+                total.count(),
+                total.count() == 0 ? 0 : min.get(),
+                max.get(),
+                mean,
+                total,
+                window
+        );
+    }
+
+    private long[] windowCounts() {
+        var counts = new long[StripedHistogram.BUCKET_COUNT];
+        var epoch = Math.floorDiv(ticker.getAsLong(), slotNanos);
+        for (var slot : slots) {
+            var slotEpoch = slot.epoch.get();
+            if (slotEpoch > epoch - slots.length && slotEpoch <= epoch) {
+                slot.histogram.drainInto(counts);
+            }
+        }
+        return counts;
+    }
+
+    private WindowSlot currentSlot(long epoch) {
+        // nanoTime may be negative; floorMod keeps the index in range.
+        var slot = slots[Math.floorMod(epoch, slots.length)];
+        var slotEpoch = slot.epoch.get();
+        if (slotEpoch < epoch && slot.epoch.compareAndSet(slotEpoch, epoch)) {
+            slot.histogram.reset();
+        }
+        return slot;
+    }
+
+    private static final class WindowSlot {
+        private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        private final StripedHistogram histogram = new StripedHistogram();
+    }
+
+    /**
+     * Bucket upper bounds are reported, so percentiles over-report by at most 12.5%.
+     */
+    private static MetricsRegistry.Percentiles percentiles(long[] counts, long cap) {
+        long total = 0;
+        for (var count : counts) {
+            total += count;
+        }
+        return new MetricsRegistry.Percentiles(
+                total,
+                valueAt(counts, total, 0.50, cap),
+                valueAt(counts, total, 0.90, cap),
+                valueAt(counts, total, 0.95, cap),
+                valueAt(counts, total, 0.99, cap),
+                valueAt(counts, total, 0.999, cap)
+        );
+    }
+
+    private static long valueAt(long[] counts, long total, double quantile, long cap) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(StripedHistogram.highestValueIn(i), cap);
+            }
+        }
+        return Math.min(StripedHistogram.highestValueIn(counts.length - 1), cap);
+    }
+}
@@ -1,42 +1,101 @@
 package com.example.aop.aspect.metrics;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.LinkedHashMap;
-import java.util.LongSummaryStatistics;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
+/**
+ * In-memory latency metrics backed by lock-free log-linear histograms.
+ * <p>
+ * Recording is a map lookup plus a few atomic increments on a per-thread stripe, so hot
+ * {@code @Timed} methods do not serialize callers. Snapshots report percentiles both since
+ * startup and over a sliding window (default: last 60 seconds in 6 slots).
+ * <p>
+ * Aspects that count events (retries, rejections, ...) register named {@link LongAdder}s once
+ * and increment them directly, so counting never goes through a map lookup. Gauges are
+ * suppliers read only when a snapshot is taken.
+ */
 @Component
 public class MetricsRegistry {
 
-    private final ConcurrentHashMap<String, LongSummaryStatistics> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyRecorder> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
 
-    public void record(String name, long durationMs) {
-        metrics.compute(name, (key, stats) -> {
-            var target = stats == null ? new LongSummaryStatistics() : stats;
-            synchronized (target) {
-                target.accept(durationMs);
-            }
-            return target;
-        });
+    @Value("${aop.metrics.window-seconds:60}")
+    private long windowSeconds = 60;
+
+    @Value("${aop.metrics.window-slots:6}")
+    private int windowSlots = 6;
+
+    public void record(String name, long durationNanos) {
+        var recorder = metrics.get(name);
+        if (recorder == null) {
+            recorder = metrics.computeIfAbsent(name, key -> newRecorder());
+        }
+        recorder.record(durationNanos);
     }
 
     public Map<String, MetricSnapshot> snapshot() {
         var result = new LinkedHashMap<String, MetricSnapshot>();
-        metrics.forEach((name, stats) -> {
-            synchronized (stats) {
-                result.put(name, new MetricSnapshot(
-                        stats.getCount(),
-                        stats.getMin(),
-                        stats.getMax(),
-                        stats.getAverage()
-                ));
-            }
-        });
+        metrics.forEach((name, recorder) -> result.put(name, recorder.snapshot()));
+        return result;
+    }
+
+    /**
+     * Returns the counter registered under {@code name}, creating it on first use. Callers should
+     * keep the returned adder rather than looking it up per event.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public Map<String, Long> counters() {
+        var result = new TreeMap<String, Long>();
+        counters.forEach((name, counter) -> result.put(name, counter.sum()));
+        return result;
+    }
+
+    /**
+     * Registers (or replaces) a gauge whose value is read on each {@link #gauges()} call.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public Map<String, Long> gauges() {
+        var result = new TreeMap<String, Long>();
+        gauges.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
         return result;
     }
 
-    public record MetricSnapshot(long count, long minMs, long maxMs, double avgMs) {
+    /**
+     * Snapshot of a single metric, or null if nothing has been recorded under {@code name}.
+     */
+    public MetricSnapshot snapshot(String name) {
+        var recorder = metrics.get(name);
+        return recorder == null ? null : recorder.snapshot();
+    }
+
+    private LatencyRecorder newRecorder() {
+        return new LatencyRecorder(TimeUnit.SECONDS.toNanos(windowSeconds), windowSlots, System::nanoTime);
+    }
+
+    /**
+     * @param cumulative percentiles since startup
+     * @param window     percentiles over the sliding window only
+     */
+    public record MetricSnapshot(long count, long minNanos, long maxNanos, double meanNanos,
+                                 Percentiles cumulative, Percentiles window) {
+    }
+
+    public record Percentiles(long count, long p50Nanos, long p90Nanos, long p95Nanos, long p99Nanos, long p999Nanos) {
     }
 }
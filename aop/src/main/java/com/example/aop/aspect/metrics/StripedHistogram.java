@@ -0,0 +1,91 @@
+package com.example.aop.aspect.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of nanosecond durations.
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKET_COUNT} linear sub-buckets, so any recorded
+ * value is reported within 12.5% of its true value while the whole range up to ~146 minutes fits
+ * in a few hundred counters. Writers increment one counter with a single atomic add on a stripe
+ * chosen by thread id, so hot methods recorded from many threads do not share a cache line.
+ */
+final class StripedHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    // Per stripe: BUCKET_COUNT counters followed by the running sum of recorded values.
+    private static final int SUM_INDEX = BUCKET_COUNT;
+    private static final int STRIPE_LENGTH = BUCKET_COUNT + 1;
+    private static final int STRIPE_COUNT =
+            Math.min(Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1, 8);
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPE_COUNT];
+
+    StripedHistogram() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new AtomicLongArray(STRIPE_LENGTH);
+        }
+    }
+
+    void record(long nanos) {
+        var value = Math.clamp(nanos, 0, MAX_VALUE);
+        var stripe = stripes[stripeIndex()];
+        stripe.getAndIncrement(bucketIndex(value));
+        stripe.getAndAdd(SUM_INDEX, value);
+    }
+
+    /**
+     * Adds this histogram's bucket counts into {@code counts} and returns the sum of recorded values.
+     */
+    long drainInto(long[] counts) {
+        long sum = 0;
+        for (var stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            sum += stripe.get(SUM_INDEX);
+        }
+        return sum;
+    }
+
+    void reset() {
+        for (var stripe : stripes) {
+            for (int i = 0; i < STRIPE_LENGTH; i++) {
+                stripe.set(i, 0);
+            }
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * Largest value that maps to the given bucket.
+     */
+    static long highestValueIn(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (SUB_BUCKET_COUNT + bucketIndex % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    private static int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        id ^= id >>> 17;
+        id *= 0x9e3779b97f4a7c15L;
+        return (int) (id >>> 32) & (STRIPE_COUNT - 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.aop.aspect.ratelimit;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One bucket per value of the SpEL expression in {@link RateLimited#key()},
+ * evaluated against the method arguments (e.g. per account or tenant id).
+ */
+@Component
+public class ArgumentKeyResolver implements KeyResolver {
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConcurrentHashMap<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Override
+    public Object resolve(JoinPoint joinPoint, RateLimited rateLimited) {
+        if (rateLimited.key().isBlank()) {
+            throw new IllegalStateException("ArgumentKeyResolver requires @RateLimited(key = ...) on "
+                    + joinPoint.getSignature().toShortString());
+        }
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var context = new MethodBasedEvaluationContext(null, method, joinPoint.getArgs(), parameterNameDiscoverer);
+        var value = expressions.computeIfAbsent(rateLimited.key(), parser::parseExpression).getValue(context);
+        return value != null ? value : "null";
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.aop.aspect.ratelimit;
+
+import org.aspectj.lang.JoinPoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * One bucket per method shared by all callers.
+ */
+@Component
+public class GlobalKeyResolver implements KeyResolver {
+
+    private static final String GLOBAL = "global";
+
+    @Override
+    public Object resolve(JoinPoint joinPoint, RateLimited rateLimited) {
+        return GLOBAL;
+    }
+}
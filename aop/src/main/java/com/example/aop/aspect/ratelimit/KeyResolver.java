@@ -0,0 +1,13 @@
+package com.example.aop.aspect.ratelimit;
+
+import org.aspectj.lang.JoinPoint;
+
+/**
+ * SPI that decides which rate-limit bucket an invocation draws from.
+ * Implementations are Spring beans, selected per method via {@link RateLimited#keyResolver()}.
+ * Invocations of the same method that resolve to equal keys share one bucket.
+ */
+public interface KeyResolver {
+
+    Object resolve(JoinPoint joinPoint, RateLimited rateLimited);
+}
@@ -0,0 +1,26 @@
+package com.example.aop.aspect.ratelimit;
+
+import org.aspectj.lang.JoinPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * One bucket per authenticated principal, falling back to the client address for
+ * unauthenticated requests and to a shared "anonymous" bucket outside a web request.
+ */
+@Component
+public class PrincipalKeyResolver implements KeyResolver {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    @Override
+    public Object resolve(JoinPoint joinPoint, RateLimited rateLimited) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            var request = attributes.getRequest();
+            var principal = request.getUserPrincipal();
+            return principal != null ? principal.getName() : request.getRemoteAddr();
+        }
+        return ANONYMOUS;
+    }
+}
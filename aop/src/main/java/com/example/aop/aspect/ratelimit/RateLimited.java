@@ -2,9 +2,30 @@ package com.example.aop.aspect.ratelimit;
 
 import java.lang.annotation.*;
 
+/**
+ * Limits calls per caller with a token bucket that refills smoothly at {@link #requestsPerSecond()}.
+ * The caller is identified by the {@link KeyResolver} bean selected with {@link #keyResolver()}.
+ */
 @Documented
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RateLimited {
     int requestsPerSecond();
+
+    /**
+     * Bucket capacity, i.e. how many calls may arrive back-to-back after an idle period.
+     * Non-positive values default to {@link #requestsPerSecond()}.
+     */
+    int burst() default -1;
+
+    /**
+     * Strategy that maps an invocation to a bucket key.
+     */
+    Class<? extends KeyResolver> keyResolver() default PrincipalKeyResolver.class;
+
+    /**
+     * SpEL expression over the method arguments (e.g. {@code "#id"} or {@code "#p0"}),
+     * used by {@link ArgumentKeyResolver}.
+     */
+    String key() default "";
 }
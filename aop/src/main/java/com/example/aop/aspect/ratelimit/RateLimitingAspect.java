@@ -1,65 +1,104 @@
 package com.example.aop.aspect.ratelimit;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Aspect enforcing @RateLimited with one lock-free {@link TokenBucket} per method and caller key.
+ * Buckets that stay full for longer than the idle timeout are evicted in the background,
+ * so high-cardinality keys (client addresses, tenant ids) do not grow the map without bound.
+ */
 @Slf4j
 @Aspect
 @Component
 public class RateLimitingAspect {
 
-    private final ConcurrentHashMap<String, FixedWindowRateLimiter> limiters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LimiterKey, TokenBucket> limiters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, KeyResolver> keyResolvers = new HashMap<>();
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rate-limit-evictor").daemon().factory());
+
+    @Value("${aop.rate-limit.idle-timeout-seconds:300}")
+    private long idleTimeoutSeconds = 300;
+
+    @Value("${aop.rate-limit.eviction-interval-seconds:60}")
+    private long evictionIntervalSeconds = 60;
+
+    public RateLimitingAspect(List<KeyResolver> keyResolvers) {
+        keyResolvers.forEach(resolver -> this.keyResolvers.put(ClassUtils.getUserClass(resolver), resolver));
+    }
+
+    @PostConstruct
+    void startEviction() {
+        evictor.scheduleWithFixedDelay(this::evictIdleLimiters,
+                evictionIntervalSeconds, evictionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopEviction() {
+        evictor.shutdownNow();
+    }
 
     @Before("@annotation(rateLimited)")
     public void checkRate(JoinPoint joinPoint, RateLimited rateLimited) {
-        var method = joinPoint.getSignature().toLongString();
-        var caller = Thread.currentThread().getName();
-        var limiterKey = method + "|" + caller;
-
-        var limiter = limiters.compute(limiterKey, (key, existing) -> {
-            if (existing == null || existing.limit() != rateLimited.requestsPerSecond()) {
-                return new FixedWindowRateLimiter(rateLimited.requestsPerSecond());
-            }
-            return existing;
-        });
-
-        if (!limiter.tryAcquire()) {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var caller = resolverFor(rateLimited).resolve(joinPoint, rateLimited);
+
+        var limiter = limiters.computeIfAbsent(new LimiterKey(method, caller),
+                key -> new TokenBucket(rateLimited.requestsPerSecond(), rateLimited.burst(), System.nanoTime()));
+
+        if (!limiter.tryAcquire(System.nanoTime())) {
             log.warn("RATE LIMITED: {} for caller {}", joinPoint.getSignature().toShortString(), caller);
             throw new RateLimitExceededException("Rate limit exceeded for " + joinPoint.getSignature().toShortString());
         }
     }
 
-    private static final class FixedWindowRateLimiter {
-        private final int limit;
-        private long windowStartMs;
-        private int used;
-
-        private FixedWindowRateLimiter(int limit) {
-            this.limit = limit;
-            this.windowStartMs = System.currentTimeMillis();
-            this.used = 0;
+    /**
+     * Removes buckets that have been full for longer than the idle timeout.
+     * A caller racing with the removal keeps the permit it just took, so at most one extra
+     * permit can leak per eviction.
+     */
+    int evictIdleLimiters() {
+        var now = System.nanoTime();
+        var idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        var before = limiters.size();
+        limiters.values().removeIf(limiter -> limiter.isIdle(now, idleTimeoutNanos));
+        var evicted = before - limiters.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limiters, {} remaining", evicted, limiters.size());
         }
+        return evicted;
+    }
 
-        synchronized boolean tryAcquire() {
-            long now = System.currentTimeMillis();
-            if (now - windowStartMs >= 1000) {
-                windowStartMs = now;
-                used = 0;
-            }
-            if (used >= limit) {
-                return false;
-            }
-            used++;
-            return true;
-        }
+    int limiterCount() {
+        return limiters.size();
+    }
 
-        int limit() {
-            return limit;
+    private KeyResolver resolverFor(RateLimited rateLimited) {
+        var resolver = keyResolvers.get(rateLimited.keyResolver());
+        if (resolver == null) {
+            throw new IllegalStateException("No KeyResolver bean of type " + rateLimited.keyResolver().getName());
         }
+        return resolver;
+    }
+
+    private record LimiterKey(Method method, Object caller) {
     }
 }
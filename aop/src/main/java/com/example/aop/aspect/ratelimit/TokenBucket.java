@@ -0,0 +1,49 @@
+package com.example.aop.aspect.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket with smooth refill.
+ * <p>
+ * The bucket state is a single "theoretical arrival time" (GCRA): each permit pushes it forward
+ * by one emission interval, and a call is rejected when it would run further ahead of now than
+ * the burst allows. This is equivalent to a token bucket refilled continuously at the configured
+ * rate, but needs only one AtomicLong updated by CAS.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(int permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("requestsPerSecond must be >= 1 but was " + permitsPerSecond);
+        }
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstToleranceNanos = emissionIntervalNanos * ((burst > 0 ? burst : permitsPerSecond) - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            var arrival = theoreticalArrivalNanos.get();
+            var start = Math.max(arrival, nowNanos);
+            if (start - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A bucket that has been full for longer than the idle timeout can be dropped without
+     * changing behavior: a freshly created bucket starts full as well.
+     */
+    boolean isIdle(long nowNanos, long idleTimeoutNanos) {
+        return nowNanos - theoreticalArrivalNanos.get() > idleTimeoutNanos;
+    }
+}
@@ -1,32 +1,56 @@
 package com.example.aop.aspect.retry;
 
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Aspect that retries method execution on specified exceptions.
+ * <p>
+ * Retries back off exponentially with full jitter and are drawn from the shared
+ * {@link RetryBudget}. Waiting uses {@link Thread#sleep}, which unmounts a virtual thread from its
+ * carrier instead of blocking it, and no lock is held while waiting. Per-method counters
+ * ({@code retry.<Class.method>.attempts|retries|exhausted|budget-denied}) are published to the
+ * {@link MetricsRegistry}.
  */
 @Slf4j
 @Aspect
 @Order(0)
 @Component
+@RequiredArgsConstructor
 public class RetryAspect {
 
+    private final RetryBudget retryBudget;
+    private final MetricsRegistry metricsRegistry;
+    private final ConcurrentHashMap<Method, RetryCounters> counters = new ConcurrentHashMap<>();
+
     @Around("@annotation(retryable)")
     public Object retry(ProceedingJoinPoint joinPoint, Retryable retryable) throws Throwable {
-        var method = joinPoint.getSignature().toShortString();
+        var signature = (MethodSignature) joinPoint.getSignature();
+        var methodCounters = counters.computeIfAbsent(signature.getMethod(), this::newCounters);
+        var method = signature.toShortString();
         int maxAttempts = retryable.maxAttempts();
         Throwable lastException = null;
 
+        retryBudget.recordCall();
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1 && !awaitRetry(attempt, retryable, methodCounters, method)) {
+                throw lastException;
+            }
             try {
-                if (attempt > 1) {
-                    log.info("Retry attempt {}/{} for {}", attempt, maxAttempts, method);
-                }
+                methodCounters.attempts().increment();
                 return joinPoint.proceed();
             } catch (Throwable e) {
                 if (!isRetryable(e, retryable.retryOn())) {
@@ -37,10 +61,58 @@ public class RetryAspect {
             }
         }
 
+        methodCounters.exhausted().increment();
         log.error("All {} attempts exhausted for {}", maxAttempts, method);
         throw lastException;
     }
 
+    /**
+     * Takes a token from the budget and waits out the backoff. Returns false when the retry must
+     * not happen: the budget is spent or the thread was interrupted while waiting.
+     */
+    private boolean awaitRetry(int attempt, Retryable retryable, RetryCounters methodCounters, String method) {
+        if (!retryBudget.tryAcquireRetry()) {
+            methodCounters.budgetDenied().increment();
+            log.warn("Retry budget exhausted, not retrying {} after attempt {}/{}", method, attempt - 1, retryable.maxAttempts());
+            return false;
+        }
+        var delayNanos = backoffNanos(retryable, attempt - 1, ThreadLocalRandom.current().nextDouble());
+        if (delayNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        methodCounters.retries().increment();
+        log.info("Retry attempt {}/{} for {}", attempt, retryable.maxAttempts(), method);
+        return true;
+    }
+
+    /**
+     * Delay before the given retry (1 = first retry): {@code backoffMs * multiplier^(retry-1)}
+     * capped at {@code maxBackoffMs}, scaled by {@code random} in [0, 1) when jitter is on.
+     */
+    static long backoffNanos(Retryable retryable, int retry, double random) {
+        if (retryable.backoffMs() <= 0) {
+            return 0;
+        }
+        var ceilingMs = Math.min(retryable.maxBackoffMs(),
+                retryable.backoffMs() * Math.pow(retryable.multiplier(), retry - 1));
+        var delayMs = retryable.jitter() ? random * ceilingMs : ceilingMs;
+        return (long) (delayMs * 1_000_000);
+    }
+
+    private RetryCounters newCounters(Method method) {
+        var prefix = "retry." + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ".";
+        return new RetryCounters(
+                metricsRegistry.counter(prefix + "attempts"),
+                metricsRegistry.counter(prefix + "retries"),
+                metricsRegistry.counter(prefix + "exhausted"),
+                metricsRegistry.counter(prefix + "budget-denied"));
+    }
+
     private boolean isRetryable(Throwable thrown, Class<? extends Throwable>[] retryOn) {
         for (var exceptionClass : retryOn) {
             if (exceptionClass.isInstance(thrown)) {
@@ -49,4 +121,7 @@ public class RetryAspect {
         }
         return false;
     }
+
+    private record RetryCounters(LongAdder attempts, LongAdder retries, LongAdder exhausted, LongAdder budgetDenied) {
+    }
 }
@@ -0,0 +1,69 @@
+package com.example.aop.aspect.retry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket shared by all @Retryable methods that caps retries to a fraction of calls.
+ * <p>
+ * Every call deposits {@code ratio} of a token and every retry withdraws a whole one, so during a
+ * sustained outage retries settle at {@code ratio} times the call volume instead of multiplying
+ * it by {@code maxAttempts}. The bucket starts full and holds at most {@code maxRetries} tokens,
+ * which absorbs short bursts of failures. Tokens are kept in thousandths in a single
+ * {@link AtomicLong}, so both operations are one CAS and a full bucket is not written at all.
+ */
+@Component
+public class RetryBudget {
+
+    private static final long SCALE = 1_000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(@Value("${aop.retry.budget.ratio:0.2}") double ratio,
+                       @Value("${aop.retry.budget.max-retries:100}") int maxRetries) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("aop.retry.budget.ratio must be within [0, 1] but was " + ratio);
+        }
+        if (maxRetries < 1) {
+            throw new IllegalArgumentException("aop.retry.budget.max-retries must be >= 1 but was " + maxRetries);
+        }
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.maxBalance = maxRetries * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Credits the budget for one call (first attempt).
+     */
+    public void recordCall() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(current + depositPerCall, maxBalance)));
+    }
+
+    /**
+     * Withdraws one retry; returns false when the budget is spent.
+     */
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double availableRetries() {
+        return (double) balance.get() / SCALE;
+    }
+}
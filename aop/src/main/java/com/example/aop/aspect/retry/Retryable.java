@@ -4,6 +4,9 @@ import java.lang.annotation.*;
 
 /**
  * Annotation to mark methods for automatic retry on failure.
+ * <p>
+ * Retries wait with exponential backoff and full jitter, and every retry must be paid for from
+ * the shared {@link RetryBudget}, so a failing dependency sees a bounded amount of extra traffic.
  */
 @Documented
 @Target(ElementType.METHOD)
@@ -19,4 +22,25 @@ public @interface Retryable {
      * Exception types that trigger a retry.
      */
     Class<? extends Throwable>[] retryOn() default {RuntimeException.class};
+
+    /**
+     * Delay before the first retry in milliseconds; 0 retries immediately.
+     */
+    long backoffMs() default 100;
+
+    /**
+     * Factor applied to the delay after each retry.
+     */
+    double multiplier() default 2.0;
+
+    /**
+     * Upper bound for a single delay in milliseconds.
+     */
+    long maxBackoffMs() default 2_000;
+
+    /**
+     * Wait a uniformly random time between 0 and the computed delay, so callers that failed
+     * together do not retry together.
+     */
+    boolean jitter() default true;
 }
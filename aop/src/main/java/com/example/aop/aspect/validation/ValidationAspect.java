@@ -6,47 +6,26 @@ import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validates @NotNull, @Min and @Max parameters of @ValidateArgs methods.
+ * Each method is compiled into a {@link ValidationPlan} on first call; later calls reuse it.
+ */
 @Aspect
 @Component
 public class ValidationAspect {
 
+    private final ConcurrentHashMap<Method, ValidationPlan> plans = new ConcurrentHashMap<>();
+
     @Before("@annotation(com.example.aop.aspect.validation.ValidateArgs)")
     public void validate(JoinPoint joinPoint) {
-        var signature = (MethodSignature) joinPoint.getSignature();
-        var parameters = signature.getMethod().getParameters();
-        var args = joinPoint.getArgs();
-
-        for (int i = 0; i < parameters.length; i++) {
-            var parameter = parameters[i];
-            var value = args[i];
-            var paramName = parameter.getName();
-
-            if (parameter.isAnnotationPresent(NotNull.class) && value == null) {
-                throw new IllegalArgumentException("Parameter '" + paramName + "' must not be null");
-            }
-
-            var min = parameter.getAnnotation(Min.class);
-            if (min != null && value != null) {
-                long numeric = toLong(value, paramName, "@Min");
-                if (numeric < min.value()) {
-                    throw new IllegalArgumentException("Parameter '" + paramName + "' must be >= " + min.value());
-                }
-            }
-
-            var max = parameter.getAnnotation(Max.class);
-            if (max != null && value != null) {
-                long numeric = toLong(value, paramName, "@Max");
-                if (numeric > max.value()) {
-                    throw new IllegalArgumentException("Parameter '" + paramName + "' must be <= " + max.value());
-                }
-            }
-        }
-    }
-
-    private long toLong(Object value, String paramName, String annotationName) {
-        if (value instanceof Number number) {
-            return number.longValue();
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var plan = plans.get(method);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(method, ValidationPlan::compile);
         }
-        throw new IllegalArgumentException("Parameter '" + paramName + "' must be numeric for " + annotationName);
+        plan.validate(joinPoint.getArgs());
     }
 }
@@ -0,0 +1,70 @@
+package com.example.aop.aspect.validation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+
+/**
+ * Immutable list of parameter checks compiled once per @ValidateArgs method.
+ * Only annotated parameters get a check, so validating a call is a loop over a small
+ * array with no reflection or annotation lookups.
+ */
+final class ValidationPlan {
+
+    private final ParameterCheck[] checks;
+
+    private ValidationPlan(ParameterCheck[] checks) {
+        this.checks = checks;
+    }
+
+    static ValidationPlan compile(Method method) {
+        var parameters = method.getParameters();
+        var checks = new ArrayList<ParameterCheck>();
+        for (int i = 0; i < parameters.length; i++) {
+            var parameter = parameters[i];
+            var notNull = parameter.isAnnotationPresent(NotNull.class);
+            var min = parameter.getAnnotation(Min.class);
+            var max = parameter.getAnnotation(Max.class);
+            if (notNull || min != null || max != null) {
+                checks.add(new ParameterCheck(i, parameter.getName(), notNull,
+                        min != null, min != null ? min.value() : 0,
+                        max != null, max != null ? max.value() : 0));
+            }
+        }
+        return new ValidationPlan(checks.toArray(ParameterCheck[]::new));
+    }
+
+    void validate(Object[] args) {
+        for (var check : checks) {
+            var value = args[check.index()];
+            if (value == null) {
+                if (check.notNull()) {
+                    throw new IllegalArgumentException("Parameter '" + check.name() + "' must not be null");
+                }
+                continue;
+            }
+            if (check.hasMin()) {
+                long numeric = toLong(value, check.name(), "@Min");
+                if (numeric < check.min()) {
+                    throw new IllegalArgumentException("Parameter '" + check.name() + "' must be >= " + check.min());
+                }
+            }
+            if (check.hasMax()) {
+                long numeric = toLong(value, check.name(), "@Max");
+                if (numeric > check.max()) {
+                    throw new IllegalArgumentException("Parameter '" + check.name() + "' must be <= " + check.max());
+                }
+            }
+        }
+    }
+
+    private static long toLong(Object value, String paramName, String annotationName) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        throw new IllegalArgumentException("Parameter '" + paramName + "' must be numeric for " + annotationName);
+    }
+
+    private record ParameterCheck(int index, String name, boolean notNull,
+                                  boolean hasMin, long min, boolean hasMax, long max) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.aop.controller;
 
+import com.example.aop.aspect.feature.FeatureFlag;
 import com.example.aop.aspect.feature.FeatureFlagsRegistry;
 import com.example.aop.aspect.metrics.MetricsRegistry;
 import com.example.aop.entity.Account;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -34,6 +36,16 @@ public class AccountController {
         return accountService.getAccountWithRetry(id);
     }
 
+    @GetMapping("/accounts/batched/{id}")
+    public Account getAccountBatched(@PathVariable int id) {
+        return accountService.getAccountBatched(id);
+    }
+
+    @GetMapping("/accounts/hedged/{id}")
+    public Account getAccountHedged(@PathVariable int id) {
+        return accountService.getAccountHedged(id);
+    }
+
     @GetMapping("/accounts/rate-limited/{id}")
     public Account getRateLimitedAccount(@PathVariable Integer id) {
         return accountService.getRateLimitedAccount(id);
@@ -49,19 +61,42 @@ public class AccountController {
         return accountService.calculatePrice(amountCents);
     }
 
+    @GetMapping("/pricing/{amountCents}/customers/{customerId}")
+    public BigDecimal calculatePriceFor(@PathVariable int amountCents, @PathVariable String customerId) {
+        return accountService.calculatePriceFor(customerId, amountCents);
+    }
+
     @GetMapping("/metrics")
     public Map<String, MetricsRegistry.MetricSnapshot> metrics() {
         return metricsRegistry.snapshot();
     }
 
+    @GetMapping("/metrics/counters")
+    public Map<String, Long> counters() {
+        return metricsRegistry.counters();
+    }
+
+    @GetMapping("/metrics/gauges")
+    public Map<String, Long> gauges() {
+        return metricsRegistry.gauges();
+    }
+
     @GetMapping("/flags")
-    public Map<String, Boolean> flags() {
+    public Map<String, FeatureFlag> flags() {
         return featureFlagsRegistry.snapshot();
     }
 
     @PutMapping("/flags/{flag}")
-    public Map<String, Boolean> setFlag(@PathVariable String flag, @RequestParam boolean enabled) {
-        featureFlagsRegistry.set(flag, enabled);
+    public Map<String, FeatureFlag> setFlag(@PathVariable String flag,
+                                            @RequestParam boolean enabled,
+                                            @RequestParam(required = false) Double percentage,
+                                            @RequestParam(required = false) Set<String> segments) {
+        if (percentage == null && segments == null) {
+            featureFlagsRegistry.set(flag, enabled);
+        } else {
+            featureFlagsRegistry.set(flag, new FeatureFlag(enabled, percentage != null ? percentage : 0,
+                    segments != null ? segments : Set.of()));
+        }
         return featureFlagsRegistry.snapshot();
     }
 
@@ -1,6 +1,8 @@
 package com.example.aop.controller;
 
 import com.example.aop.aspect.auth.AccessDeniedException;
+import com.example.aop.aspect.batch.BatchTimeoutException;
+import com.example.aop.aspect.bulkhead.BulkheadFullException;
 import com.example.aop.aspect.feature.FeatureDisabledException;
 import com.example.aop.aspect.ratelimit.RateLimitExceededException;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,18 @@ public class ApiExceptionHandler {
         return ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
     }
 
+    @ExceptionHandler(BulkheadFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ProblemDetail handleBulkheadFull(BulkheadFullException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(BatchTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ProblemDetail handleBatchTimeout(BatchTimeoutException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage());
+    }
+
     @ExceptionHandler(FeatureDisabledException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ProblemDetail handleFeatureDisabled(FeatureDisabledException ex) {
@@ -1,7 +1,11 @@
 package com.example.aop.dao;
 
 import com.example.aop.aspect.auth.RequiresRole;
+import com.example.aop.aspect.batch.Batched;
+import com.example.aop.aspect.bulkhead.Bulkhead;
+import com.example.aop.aspect.bulkhead.BulkheadMode;
 import com.example.aop.aspect.cache.SimpleCache;
+import com.example.aop.aspect.hedge.Hedged;
 import com.example.aop.aspect.metrics.Timed;
 import com.example.aop.aspect.retry.Retryable;
 import com.example.aop.aspect.validation.Min;
@@ -12,6 +16,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Repository
@@ -29,6 +34,14 @@ public class AccountDao {
         return accounts;
     }
 
+    /**
+     * Single-key lookup; concurrent calls are merged into one {@link #find(List)} by @Batched.
+     */
+    @Batched(bulkMethod = "find", windowMs = 2, maxBatch = 100)
+    public Account findById(int id) {
+        return find(List.of(id)).getFirst();
+    }
+
     public List<Account> findOrExceptionIfNotFound(List<Integer> ids) {
         throw new RuntimeException("not found any account " + ids);
     }
@@ -50,8 +63,9 @@ public class AccountDao {
      * Simulates an expensive lookup. First call is slow; subsequent calls
      * return instantly from cache thanks to the @SimpleCache aspect.
      */
+    @Bulkhead(mode = BulkheadMode.ADAPTIVE, limit = 20, maxLimit = 100)
     @ValidateArgs
-    @SimpleCache
+    @SimpleCache(refreshAfterWriteMs = 30_000, expireAfterWriteMs = 300_000)
     @Timed(name = "account.slow-find")
     public Account slowFindById(@NotNull @Min(1) Integer id) {
         try {
@@ -62,11 +76,28 @@ public class AccountDao {
         return new Account(id, "Account-" + id);
     }
 
+    /**
+     * Simulates a remote lookup with a long tail: about 1 call in 20 takes 300ms instead of 10ms.
+     * The @Hedged aspect starts a second attempt once a call exceeds the observed p95.
+     */
+    @Timed(name = "account.remote-find")
+    @Hedged
+    public Account remoteFindById(int id) {
+        var latencyMs = ThreadLocalRandom.current().nextInt(20) == 0 ? 300 : 10;
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new Account(id, "Account-" + id);
+    }
+
     /**
      * Simulates an unreliable data source that fails the first 2 calls
      * and succeeds on the 3rd. Used to demonstrate the @Retryable aspect.
      */
-    @Retryable(maxAttempts = 3, retryOn = RuntimeException.class)
+    @Bulkhead(limit = 10)
+    @Retryable(maxAttempts = 3, retryOn = RuntimeException.class, backoffMs = 50)
     public Account fetchWithRetry(int id) {
         int attempt = fetchCounter.incrementAndGet();
         if (attempt % 3 != 0) {
@@ -5,6 +5,7 @@ import com.example.aop.aspect.MonitorPerformance;
 import com.example.aop.aspect.audit.Audited;
 import com.example.aop.aspect.feature.FeatureEnabled;
 import com.example.aop.aspect.metrics.Timed;
+import com.example.aop.aspect.ratelimit.ArgumentKeyResolver;
 import com.example.aop.aspect.ratelimit.RateLimited;
 import com.example.aop.aspect.validation.Max;
 import com.example.aop.aspect.validation.Min;
@@ -77,6 +78,19 @@ public class AccountService {
         return "pong";
     }
 
+    @RateLimited(requestsPerSecond = 1, keyResolver = ArgumentKeyResolver.class, key = "#tenant")
+    public String rateLimitedTenantPing(String tenant) {
+        return "pong " + tenant;
+    }
+
+    public Account getAccountBatched(int id) {
+        return accountDao.findById(id);
+    }
+
+    public Account getAccountHedged(int id) {
+        return accountDao.remoteFindById(id);
+    }
+
     public Account getAccountWithRetry(int id) {
         return accountDao.fetchWithRetry(id);
     }
@@ -87,6 +101,15 @@ public class AccountService {
         return BigDecimal.valueOf(amountCents).movePointLeft(2).multiply(new BigDecimal("0.90"));
     }
 
+    /**
+     * Same pricing, rolled out per customer: partial rollouts of the flag bucket by customer id.
+     */
+    @FeatureEnabled(value = "new-pricing-algorithm", subject = "#customerId")
+    @Timed(name = "pricing.calculate-for")
+    public BigDecimal calculatePriceFor(String customerId, int amountCents) {
+        return BigDecimal.valueOf(amountCents).movePointLeft(2).multiply(new BigDecimal("0.90"));
+    }
+
     /**
      * Demonstrates the Spring AOP self-invocation proxy limitation.
      * The internal call to serve() bypasses the proxy, so @ExecutionLogging
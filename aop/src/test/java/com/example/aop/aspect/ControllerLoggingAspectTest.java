@@ -30,4 +30,20 @@ class ControllerLoggingAspectTest {
                 .contains("Entering: AccountController.getAccount(..)")
                 .contains("Exiting: AccountController.getAccount(..)");
     }
+
+    @Test
+    void restControllerCall_reusesIncomingCorrelationId(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/accounts/1").header(ControllerLoggingAspect.CORRELATION_ID_HEADER, "req-42"))
+                .andExpect(status().isOk());
+
+        assertThat(output).contains("[req-42] Entering: AccountController.getAccount(..)");
+    }
+
+    @Test
+    void restControllerCall_ignoresMalformedCorrelationId(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/accounts/1").header(ControllerLoggingAspect.CORRELATION_ID_HEADER, "bad id\nforged"))
+                .andExpect(status().isOk());
+
+        assertThat(output).doesNotContain("forged");
+    }
 }
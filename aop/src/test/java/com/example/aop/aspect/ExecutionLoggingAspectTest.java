@@ -3,12 +3,14 @@ package com.example.aop.aspect;
 import com.example.aop.service.AccountService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for ExecutionLoggingAspect.
@@ -37,4 +39,48 @@ class ExecutionLoggingAspectTest {
 
         assertThat(output).contains("with args: [2]");
     }
+
+    @Test
+    void unsampledSuccess_isNotLogged(CapturedOutput output) {
+        var target = proxy(new LogSampling(0, 60_000));
+
+        target.greet("quiet");
+
+        assertThat(output).doesNotContain("SampledTarget.greet(..)");
+    }
+
+    @Test
+    void unsampledFailure_isAlwaysLoggedWithArgs(CapturedOutput output) {
+        var target = proxy(new LogSampling(0, 60_000));
+
+        assertThatThrownBy(() -> target.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(output).contains("Failed: SampledTarget.greet(..)").contains("(args: [null])");
+    }
+
+    @Test
+    void unsampledSlowCall_isAlwaysLogged(CapturedOutput output) {
+        var target = proxy(new LogSampling(0, 0));
+
+        target.greet("slow");
+
+        assertThat(output).contains("Slow: SampledTarget.greet(..)").contains("with args: [slow]");
+    }
+
+    private static SampledTarget proxy(LogSampling logSampling) {
+        var factory = new AspectJProxyFactory(new SampledTarget());
+        factory.addAspect(new ExecutionLoggingAspect(logSampling));
+        return factory.getProxy();
+    }
+
+    static class SampledTarget {
+
+        @ExecutionLogging
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return "hello " + name;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package com.example.aop.aspect.audit;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private AuditPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void auditedCalls_areWrittenAsJsonLinesOffThread() throws Exception {
+        pipeline = newPipeline(1024, AuditOverflowPolicy.DROP, 1 << 20);
+        pipeline.start();
+        var accounts = proxy(pipeline);
+
+        accounts.rename(7, "Alice");
+        assertThatThrownBy(() -> accounts.rename(-1, "Bob")).isInstanceOf(IllegalArgumentException.class);
+        awaitWritten(2);
+        pipeline.stop();
+
+        var lines = readAll();
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"action\":\"UPDATE\"", "\"args\":\"[7, Alice]\"", "\"result\":\"renamed Alice\"");
+        assertThat(lines[1]).contains("\"action\":\"UPDATE_FAILED\"", "EXCEPTION: negative id");
+    }
+
+    @Test
+    void segments_rotateWhenFull() throws Exception {
+        pipeline = newPipeline(1024, AuditOverflowPolicy.DROP, 512);
+        pipeline.start();
+        var accounts = proxy(pipeline);
+
+        for (int i = 1; i <= 20; i++) {
+            accounts.rename(i, "Account-" + i);
+        }
+        awaitWritten(20);
+        pipeline.stop();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.count()).isGreaterThan(1);
+        }
+        assertThat(readAll()).hasSize(20);
+    }
+
+    @Test
+    void publish_whenBufferFullAndPolicyDrop_countsDroppedEvents() {
+        pipeline = newPipeline(2, AuditOverflowPolicy.DROP, 1 << 20);
+        var accounts = proxy(pipeline);
+
+        for (int i = 1; i <= 5; i++) {
+            accounts.rename(i, "Account-" + i);
+        }
+
+        assertThat(metricsRegistry.counters()).containsEntry("audit.published", 2L).containsEntry("audit.dropped", 3L);
+        assertThat(metricsRegistry.gauges()).containsEntry("audit.queue-depth", 2L);
+    }
+
+    @Test
+    void publish_whenBufferFullAndPolicyBlock_waitsForTheWriterInsteadOfDropping() throws Exception {
+        pipeline = newPipeline(2, AuditOverflowPolicy.BLOCK, 1 << 20);
+        pipeline.start();
+        var accounts = proxy(pipeline);
+        var gate = new CountDownLatch(1);
+
+        // The writer takes this event and then waits on the gate while rendering its result.
+        accounts.heldUntil(gate);
+        awaitQueueDepth(0);
+        accounts.rename(1, "Account-1");
+        accounts.rename(2, "Account-2");
+        var caller = Thread.ofVirtual().start(() -> accounts.rename(3, "Account-3"));
+        caller.join(200);
+
+        assertThat(caller.isAlive()).isTrue();
+        assertThat(metricsRegistry.counters()).containsEntry("audit.dropped", 0L);
+
+        gate.countDown();
+        caller.join(5_000);
+        awaitWritten(4);
+
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(metricsRegistry.counters()).containsEntry("audit.published", 4L)
+                .containsEntry("audit.written", 4L).containsEntry("audit.dropped", 0L);
+    }
+
+    private AuditPipeline newPipeline(int capacity, AuditOverflowPolicy policy, int segmentBytes) {
+        return new AuditPipeline(new ObjectMapper().findAndRegisterModules(), metricsRegistry,
+                directory.toString(), capacity, policy, 16, 1, segmentBytes, 0);
+    }
+
+    private static Accounts proxy(AuditPipeline pipeline) {
+        var factory = new AspectJProxyFactory(new Accounts());
+        factory.addAspect(new AuditAspect(pipeline));
+        return factory.getProxy();
+    }
+
+    private void awaitWritten(long expected) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (pipeline.writtenCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitQueueDepth(long expected) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (metricsRegistry.gauges().get("audit.queue-depth") != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private String[] readAll() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.sorted()
+                    .flatMap(AuditPipelineTest::lines)
+                    .toArray(String[]::new);
+        }
+    }
+
+    private static Stream<String> lines(Path segment) {
+        try {
+            return Files.readAllLines(segment).stream().filter(line -> !line.isBlank());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Accounts {
+
+        @Audited(action = "UPDATE", entity = "Account")
+        public String rename(int id, String name) {
+            if (id < 0) {
+                throw new IllegalArgumentException("negative id");
+            }
+            return "renamed " + name;
+        }
+
+        @Audited(action = "HOLD", entity = "Account")
+        public Object heldUntil(CountDownLatch gate) {
+            return new Object() {
+                @Override
+                public String toString() {
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "released";
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.aop.aspect.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditSegmentWriterTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void append_whenRotationFails_retriesOnTheNextAppend() throws IOException {
+        var directory = root.resolve("segments");
+        Path next;
+        try (var writer = new AuditSegmentWriter(directory, 8, 0)) {
+            writer.append(bytes("first"));
+            var first = writer.currentSegment();
+            // Without its directory the next segment cannot be created.
+            Files.move(first, root.resolve(first.getFileName()));
+            Files.delete(directory);
+
+            assertThatThrownBy(() -> writer.append(bytes("second"))).isInstanceOf(IOException.class);
+
+            Files.createDirectories(directory);
+            writer.append(bytes("third"));
+            next = writer.currentSegment();
+        }
+
+        assertThat(Files.readString(root.resolve("audit-0000000001.log"))).isEqualTo("first\n");
+        assertThat(next.getParent()).isEqualTo(directory);
+        assertThat(Files.readString(next)).isEqualTo("third\n");
+    }
+
+    @Test
+    void append_whenRotating_keepsOnlyTheNewestSegments() throws IOException {
+        var directory = root.resolve("segments");
+        try (var writer = new AuditSegmentWriter(directory, 8, 2)) {
+            for (int i = 1; i <= 5; i++) {
+                // Eight bytes with the newline, so every record fills a segment.
+                writer.append(bytes("record" + i));
+            }
+        }
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("audit-0000000004.log", "audit-0000000005.log");
+        }
+        assertThat(Files.readString(directory.resolve("audit-0000000005.log"))).isEqualTo("record5\n");
+    }
+
+    private static byte[] bytes(String record) {
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+}
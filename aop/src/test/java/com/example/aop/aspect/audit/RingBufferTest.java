@@ -0,0 +1,69 @@
+package com.example.aop.aspect.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    @Test
+    void offer_whenFull_returnsFalse() {
+        var buffer = new RingBuffer<Integer>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    void drainTo_returnsElementsInOrderAndFreesSlots() {
+        var buffer = new RingBuffer<Integer>(4);
+        var drained = new ArrayList<Integer>();
+
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                buffer.offer(lap * 4 + i);
+            }
+            buffer.drainTo(drained, 10);
+        }
+
+        assertThat(drained).hasSize(12).isSorted();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void offer_fromManyThreads_losesNothing() throws Exception {
+        var buffer = new RingBuffer<Integer>(1 << 16);
+        int producers = 8;
+        int perProducer = 5_000;
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        buffer.offer(base + i);
+                    }
+                });
+            }
+        }
+
+        var drained = new ArrayList<Integer>();
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+        assertThat(new HashSet<>(drained)).hasSize(producers * perProducer);
+    }
+
+    @Test
+    void constructor_rejectsNonPowerOfTwo() {
+        assertThatThrownBy(() -> new RingBuffer<Integer>(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
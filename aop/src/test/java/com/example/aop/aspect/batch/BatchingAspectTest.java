@@ -0,0 +1,138 @@
+package com.example.aop.aspect.batch;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingAspectTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final BatchingAspect batchingAspect = new BatchingAspect(metricsRegistry);
+
+    @AfterEach
+    void tearDown() {
+        batchingAspect.shutdown();
+    }
+
+    @Test
+    void concurrentLookups_areMergedIntoFewBulkCalls() throws Exception {
+        var target = new Names();
+        var proxy = proxy(target);
+        var lookups = new ArrayList<Callable<String>>();
+        for (int i = 0; i < 200; i++) {
+            int id = i % 20;
+            lookups.add(() -> proxy.nameOf(id));
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = executor.invokeAll(lookups);
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get()).isEqualTo("name-" + (i % 20));
+            }
+        }
+
+        assertThat(target.bulkCalls.get()).isLessThan(50);
+        assertThat(metricsRegistry.counters()).containsEntry("batch.Names.nameOf.calls", 200L);
+    }
+
+    @Test
+    void fullBatch_isDispatchedBeforeWindowCloses() throws Exception {
+        var proxy = proxy(new Names());
+        List<Callable<String>> lookups = List.of(
+                () -> proxy.slowWindowName(1), () -> proxy.slowWindowName(2),
+                () -> proxy.slowWindowName(3), () -> proxy.slowWindowName(4));
+
+        var start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var future : executor.invokeAll(lookups)) {
+                assertThat(future.get()).startsWith("name-");
+            }
+        }
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(5_000);
+    }
+
+    @Test
+    void bulkFailure_isPropagatedToEveryCaller() {
+        var proxy = proxy(new Names());
+
+        assertThatThrownBy(() -> proxy.failingName(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("backend down");
+    }
+
+    @Test
+    void timeout_ofOneCaller_doesNotFailOthersWaitingForTheSameKey() throws Exception {
+        var target = new Names();
+        var proxy = proxy(target);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> proxy.gatedName(1));
+            Thread.sleep(500);
+            var second = executor.submit(() -> proxy.gatedName(1));
+
+            assertThatThrownBy(first::get).hasCauseInstanceOf(BatchTimeoutException.class);
+            target.gate.countDown();
+            assertThat(second.get()).isEqualTo("name-1");
+        }
+        assertThat(target.bulkCalls.get()).isEqualTo(1);
+    }
+
+    private Names proxy(Names target) {
+        var factory = new AspectJProxyFactory(target);
+        factory.addAspect(batchingAspect);
+        return factory.getProxy();
+    }
+
+    static class Names {
+
+        final AtomicInteger bulkCalls = new AtomicInteger();
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        @Batched(bulkMethod = "names", windowMs = 10)
+        public String nameOf(int id) {
+            return names(List.of(id)).getFirst();
+        }
+
+        @Batched(bulkMethod = "names", windowMs = 10_000, maxBatch = 4, maxWaitMs = 10_000)
+        public String slowWindowName(int id) {
+            return names(List.of(id)).getFirst();
+        }
+
+        // Both callers join one window; the bulk call is held until the first one has timed out.
+        @Batched(bulkMethod = "gatedNames", windowMs = 1_000, maxWaitMs = 1_500)
+        public String gatedName(int id) throws InterruptedException {
+            return gatedNames(List.of(id)).getFirst();
+        }
+
+        @Batched(bulkMethod = "failingNames")
+        public String failingName(int id) {
+            return failingNames(List.of(id)).getFirst();
+        }
+
+        public List<String> names(List<Integer> ids) {
+            bulkCalls.incrementAndGet();
+            return ids.stream().map(id -> "name-" + id).toList();
+        }
+
+        public List<String> gatedNames(List<Integer> ids) throws InterruptedException {
+            gate.await();
+            return names(ids);
+        }
+
+        public List<String> failingNames(List<Integer> ids) {
+            throw new IllegalStateException("backend down");
+        }
+    }
+}
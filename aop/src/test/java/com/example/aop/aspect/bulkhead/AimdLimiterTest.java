@@ -0,0 +1,79 @@
+package com.example.aop.aspect.bulkhead;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void tryAcquire_rejectsOverLimit() {
+        var limiter = new AimdLimiter(2, 1, 10, 100);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void slowCalls_shrinkLimitDownToMinimum() {
+        var limiter = new AimdLimiter(10, 2, 20, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void fastCallsAtFullUsage_growLimitByOnePerLimitCompletions() {
+        var limiter = new AimdLimiter(4, 1, 20, 100);
+
+        for (int round = 0; round < 4; round++) {
+            saturate(limiter);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void fastCallsWhileMostlyIdle_doNotGrowLimit() {
+        var limiter = new AimdLimiter(4, 1, 20, 100);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void limit_neverExceedsMaximum() {
+        var limiter = new AimdLimiter(4, 1, 5, 100);
+
+        for (int round = 0; round < 100; round++) {
+            saturate(limiter);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    /**
+     * Fills the limit, then completes one fast call and immediately admits a replacement.
+     */
+    private static void saturate(AimdLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // fill
+        }
+        limiter.release(FAST);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.aop.aspect.bulkhead;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadAspectTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @Test
+    void callsOverLimit_failFastAndAreCounted() throws Exception {
+        var target = new Gate();
+        var proxy = proxy(target);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(proxy::enter);
+            executor.submit(proxy::enter);
+            assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(metricsRegistry.gauges())
+                    .containsEntry("bulkhead.Gate.enter.in-flight", 2L)
+                    .containsEntry("bulkhead.Gate.enter.limit", 2L);
+            assertThatThrownBy(proxy::enter).isInstanceOf(BulkheadFullException.class);
+            assertThat(metricsRegistry.counters()).containsEntry("bulkhead.Gate.enter.rejected", 1L);
+
+            target.release.countDown();
+        }
+
+        assertThat(metricsRegistry.gauges()).containsEntry("bulkhead.Gate.enter.in-flight", 0L);
+        assertThat(proxy.enter()).isEqualTo("done");
+    }
+
+    private Gate proxy(Gate target) {
+        var factory = new AspectJProxyFactory(target);
+        factory.addAspect(new BulkheadAspect(metricsRegistry));
+        return factory.getProxy();
+    }
+
+    static class Gate {
+
+        final CountDownLatch entered = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Bulkhead(limit = 2)
+        public String enter() throws InterruptedException {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.aop.aspect.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+
+    @Test
+    void put_beyondMaximumSize_keepsCacheBounded() {
+        var cache = new BoundedCache<Integer, String>(100, -1, Admission.TINY_LFU);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(100);
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(9_900);
+    }
+
+    @Test
+    void tinyLfu_keepsFrequentlyReadKeysDuringScan() {
+        var cache = new BoundedCache<Integer, String>(100, -1, Admission.TINY_LFU);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, "hot" + i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.getIfPresent(i);
+            }
+        }
+
+        for (int i = 1_000; i < 5_000; i++) {
+            cache.getIfPresent(i);
+            cache.put(i, "scan" + i);
+        }
+
+        var retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.getIfPresent(i) != null) {
+                retained++;
+            }
+        }
+        assertThat(retained).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    void getIfPresent_afterTtl_returnsNull() {
+        var now = new AtomicLong();
+        var cache = new BoundedCache<String, String>(10, 1_000, Admission.TINY_LFU, now::get);
+        cache.put("k", "v");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(cache.getIfPresent("k")).isEqualTo("v");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(cache.getIfPresent("k")).isNull();
+    }
+
+    @Test
+    void load_whenLoaderFails_propagatesAndCachesNothing() {
+        var cache = new BoundedCache<String, String>(10, -1, Admission.TINY_LFU);
+
+        assertThatThrownBy(() -> cache.load("k", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(cache.getIfPresent("k")).isNull();
+    }
+
+    @Test
+    void getIfPresent_pastRefreshInterval_returnsStaleValueAndReloadsInBackground() {
+        var now = new AtomicLong();
+        var tasks = new ArrayList<Runnable>();
+        var cache = new BoundedCache<String, String>(10, 10_000, 1_000, Admission.TINY_LFU, tasks::add, now::get);
+        cache.put("k", "v1");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(cache.getIfPresent("k", () -> "v2")).isEqualTo("v1");
+        assertThat(tasks).isEmpty();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(cache.getIfPresent("k", () -> "v2")).isEqualTo("v1");
+        assertThat(cache.getIfPresent("k", () -> "v3")).isEqualTo("v1");
+        assertThat(tasks).hasSize(1);
+
+        tasks.getFirst().run();
+        assertThat(cache.getIfPresent("k", () -> "v3")).isEqualTo("v2");
+        assertThat(cache.stats().refreshCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getIfPresent_createsReloaderOnlyWhenRefreshIsDue() {
+        var now = new AtomicLong();
+        var created = new AtomicInteger();
+        var cache = new BoundedCache<String, String>(10, 10_000, 1_000, Admission.TINY_LFU, Runnable::run, now::get);
+        cache.put("k", "v1");
+
+        assertThat(cache.getIfPresent("k", "v2", (key, next) -> {
+            created.incrementAndGet();
+            return () -> next;
+        })).isEqualTo("v1");
+        assertThat(created).hasValue(0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        assertThat(cache.getIfPresent("k", "v2", (key, next) -> {
+            created.incrementAndGet();
+            return () -> next;
+        })).isEqualTo("v1");
+        assertThat(created).hasValue(1);
+        assertThat(cache.getIfPresent("k")).isEqualTo("v2");
+    }
+
+    @Test
+    void getIfPresent_whenRefreshFails_servesStaleValueOnlyUntilHardTtl() {
+        var now = new AtomicLong();
+        var cache = new BoundedCache<String, String>(10, 10_000, 1_000, Admission.TINY_LFU, Runnable::run, now::get);
+        cache.put("k", "v1");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(5_000));
+        assertThat(cache.getIfPresent("k", () -> {
+            throw new IllegalStateException("backend down");
+        })).isEqualTo("v1");
+        assertThat(cache.stats().refreshFailureCount()).isEqualTo(1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(5_000));
+        assertThat(cache.getIfPresent("k", () -> "v2")).isNull();
+    }
+
+    @Test
+    void getIfPresent_whenRefreshExecutorRejects_skipsRefresh() {
+        var now = new AtomicLong();
+        var cache = new BoundedCache<String, String>(10, 10_000, 1_000, Admission.TINY_LFU, task -> {
+            throw new RejectedExecutionException("full");
+        }, now::get);
+        cache.put("k", "v1");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        assertThat(cache.getIfPresent("k", () -> "v2")).isEqualTo("v1");
+        assertThat(cache.stats().refreshSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_refreshWithoutLargerHardTtl_isRejected() {
+        assertThatThrownBy(() -> new BoundedCache<String, String>(10, -1, 1_000, Admission.TINY_LFU, Runnable::run))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -9,9 +9,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// Hits and misses are logged at debug.
+@SpringBootTest(properties = "logging.level.com.example.aop.aspect.cache.CacheAspect=debug")
 @ExtendWith(OutputCaptureExtension.class)
 class CacheAspectTest {
 
@@ -51,4 +56,21 @@ class CacheAspectTest {
         var missCount = output.toString().split("CACHE MISS:").length - 1;
         assertThat(missCount).isEqualTo(2);
     }
+
+    @Test
+    void slowFindById_concurrentMissesShareOneLoad() throws Exception {
+        accountDao.slowFindById(1);
+        var loadsBefore = cacheAspect.stats().get("AccountDao.slowFindById").loadCount();
+        Callable<Integer> lookup = () -> accountDao.slowFindById(7).getId();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = executor.invokeAll(Collections.nCopies(8, lookup));
+            for (var future : futures) {
+                assertThat(future.get()).isEqualTo(7);
+            }
+        }
+
+        var loadsAfter = cacheAspect.stats().get("AccountDao.slowFindById").loadCount();
+        assertThat(loadsAfter - loadsBefore).isEqualTo(1);
+    }
 }
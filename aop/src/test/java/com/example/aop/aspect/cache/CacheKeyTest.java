@@ -0,0 +1,37 @@
+package com.example.aop.aspect.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheKeyTest {
+
+    private static final Object TOKEN = "AccountDao.find(..)";
+
+    @Test
+    void equalArguments_produceEqualKeys() {
+        var first = CacheKey.of(TOKEN, new Object[]{1, List.of(2, 3)});
+        var second = CacheKey.of(TOKEN, new Object[]{1, List.of(2, 3)});
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+    }
+
+    @Test
+    void argumentsWithSameToString_doNotCollide() {
+        var stringArg = CacheKey.of(TOKEN, new Object[]{"1"});
+        var intArg = CacheKey.of(TOKEN, new Object[]{1});
+
+        assertThat(stringArg.toString()).isEqualTo(intArg.toString());
+        assertThat(stringArg).isNotEqualTo(intArg);
+    }
+
+    @Test
+    void differentTokens_doNotCollide() {
+        var first = CacheKey.of(new String("AccountDao.find(..)"), new Object[]{1});
+        var second = CacheKey.of(new String("AccountDao.find(..)"), new Object[]{1});
+
+        assertThat(first).isNotEqualTo(second);
+    }
+}
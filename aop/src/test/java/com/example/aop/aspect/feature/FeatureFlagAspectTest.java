@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -37,4 +39,13 @@ class FeatureFlagAspectTest {
         assertThatThrownBy(() -> accountService.calculatePrice(1000))
                 .isInstanceOf(FeatureDisabledException.class);
     }
+
+    @Test
+    void calculatePriceFor_partialRollout_followsCustomerSegment() {
+        featureFlagsRegistry.set("new-pricing-algorithm", FeatureFlag.rollout(0, Set.of("customer-1")));
+
+        assertThat(accountService.calculatePriceFor("customer-1", 1000)).isEqualByComparingTo("9.00");
+        assertThatThrownBy(() -> accountService.calculatePriceFor("customer-2", 1000))
+                .isInstanceOf(FeatureDisabledException.class);
+    }
 }
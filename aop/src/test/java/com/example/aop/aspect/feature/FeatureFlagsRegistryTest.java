@@ -0,0 +1,74 @@
+package com.example.aop.aspect.feature;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeatureFlagsRegistryTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final FeatureFlagsRegistry registry = new FeatureFlagsRegistry(metricsRegistry);
+
+    @Test
+    void isEnabled_percentageRollout_coversRoughlyThatShareOfSubjects() {
+        registry.set("beta", FeatureFlag.rollout(25, Set.of()));
+
+        var enabled = IntStream.range(0, 10_000).filter(i -> registry.isEnabled("beta", "user-" + i)).count();
+
+        assertThat(enabled).isBetween(2_300L, 2_700L);
+    }
+
+    @Test
+    void isEnabled_raisingPercentage_keepsSubjectsAlreadyIncluded() {
+        registry.set("beta", FeatureFlag.rollout(10, Set.of()));
+        var included = IntStream.range(0, 1_000).filter(i -> registry.isEnabled("beta", "user-" + i)).boxed().toList();
+
+        registry.set("beta", FeatureFlag.rollout(50, Set.of()));
+
+        assertThat(included).isNotEmpty().allMatch(i -> registry.isEnabled("beta", "user-" + i));
+    }
+
+    @Test
+    void isEnabled_segmentMember_isIncludedUnlessKillSwitchIsOff() {
+        registry.set("beta", FeatureFlag.rollout(0, Set.of("tenant-a")));
+        assertThat(registry.isEnabled("beta", "tenant-a")).isTrue();
+        assertThat(registry.isEnabled("beta", "tenant-b")).isFalse();
+
+        registry.set("beta", new FeatureFlag(false, 100, Set.of("tenant-a")));
+        assertThat(registry.isEnabled("beta", "tenant-a")).isFalse();
+    }
+
+    @Test
+    void isEnabled_withoutSubject_onlyMatchesFullRollout() {
+        registry.set("beta", FeatureFlag.rollout(99, Set.of()));
+        assertThat(registry.isEnabled("beta")).isFalse();
+        assertThat(registry.isEnabled("beta", null)).isFalse();
+
+        registry.set("beta", true);
+        assertThat(registry.isEnabled("beta")).isTrue();
+        assertThat(registry.isEnabled("unknown")).isFalse();
+    }
+
+    @Test
+    void isEnabled_countsEvaluationsPerFlagAcrossUpdates() {
+        registry.set("beta", true);
+        registry.isEnabled("beta", "user-1");
+        registry.set("beta", false);
+        registry.isEnabled("beta", "user-1");
+        registry.isEnabled("beta");
+
+        assertThat(metricsRegistry.counters())
+                .containsEntry("feature.beta.on", 1L)
+                .containsEntry("feature.beta.off", 2L);
+    }
+
+    @Test
+    void rule_outOfRangePercentage_isRejected() {
+        assertThatThrownBy(() -> FeatureFlag.rollout(101, Set.of())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
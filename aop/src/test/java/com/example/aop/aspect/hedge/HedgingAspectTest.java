@@ -0,0 +1,108 @@
+package com.example.aop.aspect.hedge;
+
+import com.example.aop.aspect.metrics.MetricsRegistry;
+import com.example.aop.aspect.ratelimit.GlobalKeyResolver;
+import com.example.aop.aspect.ratelimit.RateLimited;
+import com.example.aop.aspect.ratelimit.RateLimitingAspect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingAspectTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final HedgingAspect hedgingAspect = new HedgingAspect(metricsRegistry);
+
+    @AfterEach
+    void tearDown() {
+        hedgingAspect.shutdown();
+    }
+
+    @Test
+    void slowFirstAttempt_isHedgedAndHedgeWins() throws Exception {
+        var target = new Reads();
+        var proxy = proxy(target);
+
+        var start = System.nanoTime();
+        var result = proxy.slowOnce("a");
+        var elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result).isEqualTo("fast-a");
+        assertThat(elapsedMs).isLessThan(1_000);
+        assertThat(metricsRegistry.counters())
+                .containsEntry("hedge.Reads.slowOnce.issued", 1L)
+                .containsEntry("hedge.Reads.slowOnce.won", 1L);
+    }
+
+    @Test
+    void fastCall_isNotHedged() {
+        var proxy = proxy(new Reads());
+
+        assertThat(proxy.fast("b")).isEqualTo("fast-b");
+
+        assertThat(metricsRegistry.counters()).containsEntry("hedge.Reads.fast.issued", 0L);
+    }
+
+    @Test
+    void withoutKnownDelay_runsInlineOnCallerThread() {
+        var proxy = proxy(new Reads());
+
+        assertThat(proxy.currentThread()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void failure_isPropagatedToCaller() {
+        var proxy = proxy(new Reads());
+
+        assertThatThrownBy(() -> proxy.failing("c"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom c");
+    }
+
+    private Reads proxy(Reads target) {
+        var factory = new AspectJProxyFactory(target);
+        factory.addAspect(hedgingAspect);
+        factory.addAspect(new RateLimitingAspect(List.of(new GlobalKeyResolver())));
+        return factory.getProxy();
+    }
+
+    static class Reads {
+
+        private final AtomicInteger slowOnceCalls = new AtomicInteger();
+
+        /**
+         * The rate limit is an inner aspect with a bound parameter, so hedged attempts exercise
+         * invocation exposure on the worker thread.
+         */
+        @Hedged(delayMs = 20)
+        @RateLimited(requestsPerSecond = 1_000, keyResolver = GlobalKeyResolver.class)
+        public String slowOnce(String key) throws InterruptedException {
+            if (slowOnceCalls.incrementAndGet() == 1) {
+                Thread.sleep(5_000);
+                return "slow-" + key;
+            }
+            return "fast-" + key;
+        }
+
+        @Hedged(delayMs = 1_000)
+        public String fast(String key) {
+            return "fast-" + key;
+        }
+
+        @Hedged
+        public String currentThread() {
+            return Thread.currentThread().getName();
+        }
+
+        @Hedged(delayMs = 1_000)
+        public String failing(String key) {
+            throw new IllegalStateException("boom " + key);
+        }
+    }
+}
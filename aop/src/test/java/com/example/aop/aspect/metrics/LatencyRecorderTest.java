@@ -0,0 +1,55 @@
+package com.example.aop.aspect.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyRecorderTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LatencyRecorder recorder = new LatencyRecorder(TimeUnit.SECONDS.toNanos(60), 6, now::get);
+
+    @Test
+    void snapshot_reportsPercentilesWithinBucketError() {
+        for (int i = 1; i <= 1_000; i++) {
+            recorder.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        var snapshot = recorder.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(1_000);
+        assertThat(snapshot.minNanos()).isEqualTo(1_000);
+        assertThat(snapshot.maxNanos()).isEqualTo(1_000_000);
+        assertThat(snapshot.meanNanos()).isCloseTo(500_500.0, within(0.1));
+        assertThat(snapshot.cumulative().p50Nanos()).isBetween(500_000L, 562_500L);
+        assertThat(snapshot.cumulative().p99Nanos()).isBetween(990_000L, 1_000_000L);
+    }
+
+    @Test
+    void window_dropsSamplesOlderThanWindow() {
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(500));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        var snapshot = recorder.snapshot();
+        assertThat(snapshot.cumulative().count()).isEqualTo(2);
+        assertThat(snapshot.window().count()).isEqualTo(1);
+        assertThat(snapshot.window().p999Nanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(3));
+    }
+
+    @Test
+    void record_acceptsNegativeTicker() {
+        // System.nanoTime() has an arbitrary origin and may be negative.
+        now.set(-TimeUnit.SECONDS.toNanos(25));
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(1));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertThat(recorder.snapshot().window().count()).isEqualTo(2);
+    }
+}
@@ -24,5 +24,7 @@ class TimedAspectTest {
         var snapshot = metricsRegistry.snapshot();
         assertThat(snapshot).containsKeys("account.get-by-id", "pricing.calculate", "account.slow-find");
         assertThat(snapshot.get("account.get-by-id").count()).isGreaterThanOrEqualTo(1);
+        assertThat(snapshot.get("account.get-by-id").window().count()).isGreaterThanOrEqualTo(1);
+        assertThat(snapshot.get("pricing.calculate").cumulative().p99Nanos()).isPositive();
     }
 }
@@ -22,4 +22,12 @@ class RateLimitingAspectTest {
                 .isInstanceOf(RateLimitExceededException.class)
                 .hasMessageContaining("Rate limit exceeded");
     }
+
+    @Test
+    void rateLimitedTenantPing_bucketsArePerArgumentKey() {
+        assertThat(accountService.rateLimitedTenantPing("tenant-a")).isEqualTo("pong tenant-a");
+        assertThat(accountService.rateLimitedTenantPing("tenant-b")).isEqualTo("pong tenant-b");
+        assertThatThrownBy(() -> accountService.rateLimitedTenantPing("tenant-a"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
 }
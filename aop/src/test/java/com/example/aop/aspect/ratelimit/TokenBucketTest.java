@@ -0,0 +1,36 @@
+package com.example.aop.aspect.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_allowsBurstThenRefillsSmoothly() {
+        var bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+
+        // one permit every 100ms
+        assertThat(bucket.tryAcquire(SECOND / 10 - 1)).isFalse();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isTrue();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isFalse();
+    }
+
+    @Test
+    void isIdle_onlyAfterBucketHasBeenFullForTimeout() {
+        var bucket = new TokenBucket(1, 1, 0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.isIdle(SECOND, SECOND)).isFalse();
+        assertThat(bucket.isIdle(2 * SECOND + 1, SECOND)).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.aop.aspect.retry;
 
+import com.example.aop.aspect.metrics.MetricsRegistry;
 import com.example.aop.dao.AccountDao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -18,6 +21,9 @@ class RetryAspectTest {
     @Autowired
     private AccountDao accountDao;
 
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
     @BeforeEach
     void setUp() {
         accountDao.resetFetchCounter();
@@ -34,4 +40,49 @@ class RetryAspectTest {
         assertThat(output).contains("Attempt 2/3 failed");
         assertThat(output).contains("Retry attempt 3/3");
     }
+
+    @Test
+    void fetchWithRetry_countsAttemptsAndRetries() {
+        var attempts = counter("attempts");
+        var retries = counter("retries");
+
+        accountDao.fetchWithRetry(7);
+
+        assertThat(counter("attempts") - attempts).isEqualTo(3);
+        assertThat(counter("retries") - retries).isEqualTo(2);
+    }
+
+    @Test
+    void backoffNanos_growsExponentiallyUpToMaximum() throws Exception {
+        var retryable = retryable("exponentialBackoff");
+
+        assertThat(RetryAspect.backoffNanos(retryable, 1, 0.5)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(RetryAspect.backoffNanos(retryable, 2, 0.5)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(RetryAspect.backoffNanos(retryable, 3, 0.5)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(400));
+        assertThat(RetryAspect.backoffNanos(retryable, 10, 0.5)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1_000));
+    }
+
+    @Test
+    void backoffNanos_withJitter_scalesDelayByRandom() throws Exception {
+        var retryable = retryable("jitteredBackoff");
+
+        assertThat(RetryAspect.backoffNanos(retryable, 2, 0.0)).isZero();
+        assertThat(RetryAspect.backoffNanos(retryable, 2, 0.25)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    private long counter(String name) {
+        return metricsRegistry.counters().getOrDefault("retry.AccountDao.fetchWithRetry." + name, 0L);
+    }
+
+    private static Retryable retryable(String method) throws NoSuchMethodException {
+        return RetryAspectTest.class.getDeclaredMethod(method).getAnnotation(Retryable.class);
+    }
+
+    @Retryable(backoffMs = 100, multiplier = 2.0, maxBackoffMs = 1_000, jitter = false)
+    private void exponentialBackoff() {
+    }
+
+    @Retryable(backoffMs = 100, multiplier = 2.0, maxBackoffMs = 1_000)
+    private void jitteredBackoff() {
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.aop.aspect.retry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryBudgetTest {
+
+    @Test
+    void tryAcquireRetry_startsFullAndDrains() {
+        var budget = new RetryBudget(0.1, 3);
+
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    void recordCall_refillsByRatioOfCalls() {
+        var budget = new RetryBudget(0.1, 3);
+        while (budget.tryAcquireRetry()) {
+            // drain
+        }
+
+        for (int i = 0; i < 9; i++) {
+            budget.recordCall();
+        }
+        assertThat(budget.tryAcquireRetry()).isFalse();
+
+        budget.recordCall();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    void recordCall_neverExceedsMaxRetries() {
+        var budget = new RetryBudget(1.0, 2);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordCall();
+        }
+
+        assertThat(budget.availableRetries()).isEqualTo(2.0);
+    }
+
+    @Test
+    void constructor_rejectsRatioOutsideUnitInterval() {
+        assertThatThrownBy(() -> new RetryBudget(1.5, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -26,4 +26,11 @@ class ValidationAspectTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("must be >= 1");
     }
+
+    @Test
+    void getAccountById_aboveMax_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> accountService.getAccountById(100_001))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be <= 100000");
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import com.example.caching.enums.Category;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Redis cache value codecs on the shapes the product caches store: one product and a
+ * 20-product search page. {@code json} is the typed Jackson serializer alone, {@code binary} is
+ * {@link CacheValueSerializer} with the default compression threshold.
+ * <p>
+ * Run with {@code ./gradlew :caching:jmh -PjmhIncludes=CacheValueSerializerBenchmark}; the
+ * encoded size per entry is printed at setup, the gc profiler reports bytes allocated per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    @Param({"product", "list"})
+    public String shape;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = "json".equals(codec)
+                ? CacheConfig.jsonSerializer()
+                : new CacheValueSerializer(CacheConfig.jsonSerializer(), 1024);
+        if ("product".equals(shape)) {
+            value = product(1);
+        } else {
+            var products = new ArrayList<Product>();
+            for (int i = 1; i <= 20; i++) {
+                products.add(product(i));
+            }
+            value = products;
+        }
+        encoded = serializer.serialize(value);
+        System.out.printf("%n%s/%s: %d bytes per entry%n", codec, shape, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    private static Product product(long id) {
+        return Product.builder()
+                .productId(id)
+                .productName("Widget " + id)
+                .category(Category.PRODUCT)
+                .price(new BigDecimal("29.99"))
+                .inStock(100L + id)
+                .dateOfManufacture(LocalDateTime.of(2026, 1, 2, 9, 59, 1))
+                .updatedAt(LocalDateTime.of(2026, 3, 4, 10, 15, 30, 123_000_000))
+                .vendor("ABC")
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.caching.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a first-page product name search on 1M rows in in-memory H2: the {@code LIKE} query
+ * plus count query that {@code findByProductNameContainingIgnoreCase} issues, against
+ * {@link TrigramIndex} candidates fetched by primary key with the same name condition.
+ * <p>
+ * The SQL mirrors what Hibernate generates for both repository methods; it runs over JDBC so
+ * the benchmark does not need an application context.
+ * <p>
+ * Run with {@code ./gradlew :caching:jmh -PjmhIncludes=ProductNameSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductNameSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_CANDIDATES = 10_000;
+    private static final String[] ADJECTIVES = {"steel", "wooden", "compact", "deluxe", "portable", "smart", "classic", "heavy"};
+    private static final String[] NOUNS = {"widget", "gadget", "bracket", "valve", "sensor", "hinge", "pump", "router"};
+
+    private static final String COLUMNS = "select product_id, product_name, category, price, in_stock, date_of_manufacture, updated_at, vendor from product p ";
+    private static final String NAME_LIKE = "upper(p.product_name) like upper(?) ";
+
+    /**
+     * Common word (~1/8 of rows, above the candidate limit), model number, and no match.
+     */
+    @Param({"widget", "deluxe pump 4711", "zzz"})
+    public String query;
+
+    private Connection connection;
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:products;DB_CLOSE_DELAY=-1");
+        try (var statement = connection.createStatement()) {
+            statement.execute("drop table if exists product");
+            statement.execute("""
+                    create table product (product_id bigint auto_increment primary key, product_name varchar(255) not null,
+                    category varchar(50) not null, price decimal(10,2) not null, in_stock bigint not null,
+                    date_of_manufacture timestamp not null, updated_at timestamp not null, vendor varchar(255))""");
+            statement.execute("create index idx_product_name on product(product_name)");
+            statement.execute("create index idx_product_updated_at on product(updated_at)");
+        }
+        var random = new Random(42);
+        var now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        try (var insert = connection.prepareStatement("""
+                insert into product (product_name, category, price, in_stock, date_of_manufacture, updated_at, vendor)
+                values (?, 'PRODUCT', 9.99, 10, ?, ?, 'ACME')""")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                        + NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(10_000));
+                insert.setTimestamp(2, Timestamp.valueOf(now));
+                insert.setTimestamp(3, Timestamp.valueOf(now.minusSeconds(random.nextInt(10_000_000))));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        index = new TrigramIndex();
+        try (var statement = connection.createStatement();
+             var rows = statement.executeQuery("select product_id, product_name from product")) {
+            while (rows.next()) {
+                index.put(rows.getLong(1), rows.getString(2));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> jpaLike() throws SQLException {
+        return page("", List.of());
+    }
+
+    @Benchmark
+    public List<Long> trigramIndex() throws SQLException {
+        var ids = index.search(query, MAX_CANDIDATES);
+        if (ids == null) {
+            // Same fallback as ProductService
+            return page("", List.of());
+        }
+        if (ids.length == 0) {
+            return List.of();
+        }
+        var idList = new ArrayList<Long>(ids.length);
+        var placeholders = new StringBuilder("p.product_id in (");
+        for (int i = 0; i < ids.length; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+            idList.add(ids[i]);
+        }
+        return page(placeholders.append(") and ").toString(), idList);
+    }
+
+    private List<Long> page(String idCondition, List<Long> ids) throws SQLException {
+        var result = new ArrayList<Long>(PAGE_SIZE + 1);
+        try (var select = connection.prepareStatement(COLUMNS + "where " + idCondition + NAME_LIKE
+                + "order by p.updated_at desc offset 0 rows fetch first ? rows only")) {
+            var next = bind(select, ids);
+            select.setInt(next, PAGE_SIZE);
+            try (var rows = select.executeQuery()) {
+                while (rows.next()) {
+                    result.add(rows.getLong(1));
+                }
+            }
+        }
+        // Spring Data issues the count query whenever the first page is full.
+        if (result.size() == PAGE_SIZE) {
+            try (var count = connection.prepareStatement("select count(p.product_id) from product p where " + idCondition + NAME_LIKE)) {
+                bind(count, ids);
+                try (var rows = count.executeQuery()) {
+                    rows.next();
+                    result.add(rows.getLong(1));
+                }
+            }
+        }
+        return result;
+    }
+
+    private int bind(PreparedStatement statement, List<Long> ids) throws SQLException {
+        var parameter = 1;
+        for (var id : ids) {
+            statement.setLong(parameter++, id);
+        }
+        statement.setString(parameter++, "%" + query + "%");
+        return parameter;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.caching.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reports every read key to a listener and otherwise passes through to the wrapped cache.
+ */
+public class AccessTrackingCache implements Cache, CacheStatsSource {
+
+    private final Cache delegate;
+    private final Consumer<Object> onAccess;
+    private final Supplier<Map<String, Object>> trackerStats;
+
+    public AccessTrackingCache(Cache delegate, Consumer<Object> onAccess, Supplier<Map<String, Object>> trackerStats) {
+        this.delegate = delegate;
+        this.onAccess = onAccess;
+        this.trackerStats = trackerStats;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        onAccess.accept(key);
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        onAccess.accept(key);
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        onAccess.accept(key);
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        var stats = new LinkedHashMap<String, Object>();
+        if (delegate instanceof CacheStatsSource source) {
+            stats.putAll(source.stats());
+        } else if (delegate instanceof RedisCache redisCache) {
+            stats.put("redis", redisCache.getStatistics());
+        }
+        stats.put("refreshAhead", trackerStats.get());
+        return stats;
+    }
+}
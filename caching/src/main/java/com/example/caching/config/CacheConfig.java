@@ -1,15 +1,19 @@
 package com.example.caching.config;
 
+import com.example.caching.sender.RedisPublisher;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -25,16 +29,31 @@ import java.util.Map;
 @EnableCaching
 public class CacheConfig implements CachingConfigurer {
 
+    /**
+     * The cache manager used by the caching annotations: an in-process L1 in front of Redis for the
+     * caches listed under {@code caching.near-cache.caches}, Redis alone for the others.
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        var mapper = JsonMapper.builder().addModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    @Primary
+    public NearCacheManager cacheManager(RedisCacheManager redisCacheManager, NearCacheProperties nearCacheProperties,
+                                         RedisPublisher redisPublisher, ObjectProvider<CacheDecorator> decorators) {
+        return new NearCacheManager(redisCacheManager, nearCacheProperties, redisPublisher,
+                decorators.orderedStream().toList());
+    }
 
+    /**
+     * Values are written by {@link CacheValueSerializer}: products and product lists in a compact
+     * binary layout, anything else as JSON, compressed from {@code compressionThreshold} bytes.
+     */
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                               @Value("${caching.serializer.compression-threshold:1024}") int compressionThreshold) {
         var defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer(mapper)))
+                        .fromSerializer(new CacheValueSerializer(jsonSerializer(), compressionThreshold)))
                 .disableCachingNullValues();
 
         var cacheConfigs = Map.of(
@@ -49,6 +68,14 @@ public class CacheConfig implements CachingConfigurer {
                 .build();
     }
 
+    /**
+     * JSON with type information, so values come back as their original classes rather than maps.
+     */
+    static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        var mapper = JsonMapper.builder().addModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        return GenericJackson2JsonRedisSerializer.builder().objectMapper(mapper).defaultTyping(true).build();
+    }
+
     @Override
     @Bean
     public CacheErrorHandler errorHandler() {
@@ -0,0 +1,13 @@
+package com.example.caching.config;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Wraps the Redis (L2) cache of a given name with extra behavior before {@link NearCacheManager}
+ * adds the optional L1. Decorator beans are applied in {@code @Order}, innermost first, and
+ * return the cache unchanged when they do not apply to it.
+ */
+public interface CacheDecorator {
+
+    Cache decorate(Cache cache);
+}
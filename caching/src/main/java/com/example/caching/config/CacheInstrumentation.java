@@ -0,0 +1,24 @@
+package com.example.caching.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every Redis cache in an {@link InstrumentedCache}. Runs last, so the timings cover the
+ * whole L2 path including stampede protection and tagging.
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+public class CacheInstrumentation implements CacheDecorator {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Cache decorate(Cache cache) {
+        return new InstrumentedCache(cache, meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.caching.config;
+
+import java.util.Map;
+
+/**
+ * Cache layers that report their own counters on {@code /api/cache/stats}.
+ */
+public interface CacheStatsSource {
+
+    Map<String, Object> stats();
+}
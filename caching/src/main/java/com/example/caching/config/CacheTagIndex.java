@@ -0,0 +1,74 @@
+package com.example.caching.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reverse index from tags to cache keys, kept in Redis sets named {@code cache-tags:<cache>:<tag>}.
+ * <p>
+ * Entries are tagged before they are written, so an entry in Redis is always reachable from its
+ * tags. Evicting a tag pops the whole set atomically, so keys tagged concurrently either land in
+ * the popped set or survive in a fresh one for the next eviction. Each set expires with the entries
+ * it points to, so sets of keys that expired on their own do not pile up.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheTagIndex {
+
+    private static final String PREFIX = "cache-tags:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POP_ALL = RedisScript.of("""
+            local members = redis.call('SMEMBERS', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            return members
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void tag(String cacheName, Object key, Collection<String> tags, Duration ttl) {
+        var member = bytes(String.valueOf(key));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (var tag : tags) {
+                add(connection, bytes(tagKey(cacheName, tag)), member, ttl);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Evicts every key tagged with {@code tag} through {@code cache}, so outer layers (L1) see the eviction too.
+     */
+    public void evict(Cache cache, String tag) {
+        List<?> keys = redisTemplate.execute(POP_ALL, List.of(tagKey(cache.getName(), tag)));
+        if (keys != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    private static void add(RedisConnection connection, byte[] tagKey, byte[] member, Duration ttl) {
+        connection.setCommands().sAdd(tagKey, member);
+        if (ttl.isPositive()) {
+            // Entries of one cache share a TTL, so the newest member always expires last.
+            connection.keyCommands().pExpire(tagKey, ttl.toMillis());
+        }
+    }
+
+    static String tagKey(String cacheName, String tag) {
+        return PREFIX + cacheName + ":" + tag;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
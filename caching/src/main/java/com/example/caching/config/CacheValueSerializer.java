@@ -0,0 +1,187 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cache value serializer with a compact binary layout for products and JSON for everything else.
+ * <p>
+ * Every value starts with a 3-byte header: format version, flags and payload type
+ * ({@link Product}, list of products, or JSON from the fallback serializer). Payloads of at least
+ * {@code compressionThreshold} bytes are deflated when that actually shrinks them.
+ * <p>
+ * The version byte lets instances of two releases share Redis during a rolling upgrade. Values
+ * written by the previous JSON-only release start with a JSON token; that JSON carries no type
+ * information, so it cannot be turned back into products and reads as null, a plain miss that the
+ * next load overwrites. A version this release does not know fails with a
+ * {@link SerializationException}, which the cache error handler treats as a miss.
+ * <p>
+ * {@link #reportSizesTo} tells a listener the encoded length of every value the current thread
+ * writes, so the cache metrics get payload sizes without encoding anything twice.
+ */
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION = 1;
+
+    private static final int HEADER_LENGTH = 3;
+    private static final byte FLAG_DEFLATED = 1;
+    private static final byte TYPE_PRODUCT = 1;
+    private static final byte TYPE_PRODUCT_LIST = 2;
+    private static final byte TYPE_JSON = 3;
+
+    private static final ThreadLocal<IntConsumer> SIZE_LISTENER = new ThreadLocal<>();
+
+    private final RedisSerializer<Object> json;
+    private final int compressionThreshold;
+
+    public CacheValueSerializer(RedisSerializer<Object> json, int compressionThreshold) {
+        this.json = json;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Reports the length of every value this thread serializes from now on to {@code listener};
+     * null stops reporting.
+     */
+    static void reportSizesTo(IntConsumer listener) {
+        if (listener == null) {
+            SIZE_LISTENER.remove();
+        } else {
+            SIZE_LISTENER.set(listener);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        var bytes = encode(value);
+        var listener = SIZE_LISTENER.get();
+        if (listener != null) {
+            listener.accept(bytes.length);
+        }
+        return bytes;
+    }
+
+    private byte[] encode(Object value) {
+        var out = new ProductCodec.Output(256);
+        out.write(VERSION);
+        out.write(0);
+        if (value instanceof Product product) {
+            out.write(TYPE_PRODUCT);
+            ProductCodec.writeProduct(product, out);
+        } else if (isProductList(value)) {
+            out.write(TYPE_PRODUCT_LIST);
+            ProductCodec.writeProducts((List<?>) value, out);
+        } else {
+            out.write(TYPE_JSON);
+            var bytes = json.serialize(value);
+            out.write(bytes, 0, bytes.length);
+        }
+        var payloadLength = out.size() - HEADER_LENGTH;
+        if (compressionThreshold > 0 && payloadLength >= compressionThreshold) {
+            var deflated = deflate(out.buffer(), HEADER_LENGTH, payloadLength);
+            if (deflated.length < payloadLength) {
+                var result = new byte[HEADER_LENGTH + deflated.length];
+                System.arraycopy(out.buffer(), 0, result, 0, HEADER_LENGTH);
+                result[1] = FLAG_DEFLATED;
+                System.arraycopy(deflated, 0, result, HEADER_LENGTH, deflated.length);
+                return result;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != VERSION) {
+            if (isJsonStart(bytes[0])) {
+                return null;
+            }
+            throw new SerializationException("Unsupported cache value format version " + bytes[0]);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Truncated cache value header");
+        }
+        var payload = (bytes[1] & FLAG_DEFLATED) != 0
+                ? inflate(bytes, HEADER_LENGTH)
+                : bytes;
+        var offset = payload == bytes ? HEADER_LENGTH : 0;
+        try {
+            return switch (bytes[2]) {
+                case TYPE_PRODUCT -> ProductCodec.readProduct(new ProductCodec.Input(payload, offset));
+                case TYPE_PRODUCT_LIST -> ProductCodec.readProducts(new ProductCodec.Input(payload, offset));
+                case TYPE_JSON -> json.deserialize(Arrays.copyOfRange(payload, offset, payload.length));
+                default -> throw new SerializationException("Unknown cache value type " + bytes[2]);
+            };
+        } catch (IllegalArgumentException ex) {
+            throw new SerializationException("Malformed cache value: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static boolean isProductList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        for (var element : list) {
+            if (!(element instanceof Product)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJsonStart(byte first) {
+        return first == '{' || first == '[' || first == '"';
+    }
+
+    private static byte[] deflate(byte[] bytes, int offset, int length) {
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            var out = new ByteArrayOutputStream(length / 2);
+            var chunk = new byte[Math.min(length, 8_192)];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            var out = new ByteArrayOutputStream((bytes.length - offset) * 3);
+            var chunk = new byte[8_192];
+            while (!inflater.finished()) {
+                var n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Truncated compressed cache value");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new SerializationException("Corrupt compressed cache value", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
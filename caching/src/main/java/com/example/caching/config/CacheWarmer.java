@@ -1,29 +1,165 @@
 package com.example.caching.config;
 
+import com.example.caching.entity.Product;
 import com.example.caching.repository.ProductRepository;
-import com.example.caching.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads the product table into the {@code product} Redis cache at startup.
+ * <p>
+ * Products are read in keyset pages ({@code productId > last}, no count query) and each page is
+ * written in one Redis pipeline of {@code SET ... PX ttl NX}, using the cache's own key prefix and
+ * serializer. Up to {@code concurrency} pipelines are in flight while the next page is read.
+ * <p>
+ * {@code NX} only protects a value that a concurrent {@code @CachePut} wrote before the warmer's
+ * {@code SET}. A delete, or a save that evicts, between reading a page and writing it removes the
+ * key, and {@code NX} then writes the old row back. Warmed entries therefore get {@code entry-ttl}
+ * (capped at the cache's TTL), which bounds how long such a row is served. They also carry no
+ * {@code #delta} recompute cost, so {@link StampedeProtectedCache} never refreshes them early;
+ * they expire and are recomputed under its lock like any miss.
+ * <p>
+ * Spring Boot reports the application ready only after its runners return, so startup waits for
+ * warming up to {@code time-limit}; past that it reports ready and warming continues in the background.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CacheWarmer implements ApplicationRunner {
 
+    static final String CACHE_NAME = "product";
+
     private final ProductRepository productRepository;
-    private final ProductService productService;
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final CacheWarmerProperties properties;
 
     @Override
     public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
         log.info("Warming product cache...");
+        var warmUp = CompletableFuture.supplyAsync(this::warm,
+                runnable -> Thread.ofPlatform().daemon().name("cache-warmer").start(runnable));
+        try {
+            warmUp.get(properties.getTimeLimit().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Cache warming still running after {} - accepting traffic, warming continues in the background",
+                    properties.getTimeLimit());
+            warmUp.whenComplete((rows, failure) -> {
+                if (failure != null) {
+                    logFailure(failure);
+                }
+            });
+        } catch (ExecutionException ex) {
+            logFailure(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of products written
+     */
+    long warm() {
+        var cache = (RedisCache) redisCacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return 0;
+        }
+        var config = cache.getCacheConfiguration();
+        var keyPrefix = config.getKeyPrefixFor(CACHE_NAME);
+        var concurrency = Math.max(1, properties.getConcurrency());
+        var pageRequest = PageRequest.of(0, properties.getPageSize(), Sort.by("productId"));
+
+        var writers = Executors.newFixedThreadPool(concurrency,
+                Thread.ofPlatform().daemon().name("cache-warmer-", 1).factory());
+        var inFlight = new Semaphore(concurrency);
+        var failure = new AtomicReference<Throwable>();
+        var pipelines = new ArrayList<CompletableFuture<Void>>();
+        var start = System.nanoTime();
+        long rows = 0;
         try {
-            productRepository.findAll().forEach(product -> productService.findById(product.getProductId()));
-            log.info("Cache warming completed");
-        } catch (Exception ex) {
-            log.warn("Cache warming failed - cache will be populated lazily on first request: {}", ex.getMessage());
+            var lastId = Long.MIN_VALUE;
+            var hasNext = true;
+            while (hasNext && failure.get() == null) {
+                var page = productRepository.findByProductIdGreaterThan(lastId, pageRequest);
+                var products = page.getContent();
+                if (products.isEmpty()) {
+                    break;
+                }
+                lastId = products.getLast().getProductId();
+                hasNext = page.hasNext();
+
+                inFlight.acquireUninterruptibly();
+                pipelines.add(CompletableFuture.runAsync(() -> write(products, config, keyPrefix), writers)
+                        .whenComplete((ignored, ex) -> {
+                            if (ex != null) {
+                                failure.compareAndSet(null, ex);
+                            }
+                            inFlight.release();
+                        }));
+                rows += products.size();
+            }
+            CompletableFuture.allOf(pipelines.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            writers.shutdown();
         }
+
+        var millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Cache warming completed: {} products in {} ms ({} rows/s)", rows, millis, rows * 1_000 / millis);
+        return rows;
+    }
+
+    private void write(List<Product> products, RedisCacheConfiguration config, String keyPrefix) {
+        var valueSerializer = config.getValueSerializationPair();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (var product : products) {
+                var ttl = warmedTtl(config.getTtlFunction().getTimeToLive(product.getProductId(), product));
+                var expiration = ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+                connection.stringCommands().set(
+                        (keyPrefix + product.getProductId()).getBytes(StandardCharsets.UTF_8),
+                        ByteUtils.getBytes(valueSerializer.write(product)),
+                        expiration, SetOption.ifAbsent());
+            }
+            return null;
+        });
+    }
+
+    private Duration warmedTtl(Duration cacheTtl) {
+        var entryTtl = properties.getEntryTtl();
+        if (entryTtl == null || entryTtl.isZero() || entryTtl.isNegative()) {
+            return cacheTtl;
+        }
+        return cacheTtl.isZero() || cacheTtl.isNegative() || entryTtl.compareTo(cacheTtl) < 0 ? entryTtl : cacheTtl;
+    }
+
+    private static void logFailure(Throwable failure) {
+        log.warn("Cache warming failed - cache will be populated lazily on first request: {}", failure.getMessage());
     }
 }
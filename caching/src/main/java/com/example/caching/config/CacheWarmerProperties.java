@@ -0,0 +1,40 @@
+package com.example.caching.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the startup {@link CacheWarmer}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching.warm-up")
+public class CacheWarmerProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Products read per query and written per Redis pipeline.
+     */
+    private int pageSize = 1_000;
+
+    /**
+     * Pipelines in flight at once.
+     */
+    private int concurrency = 4;
+
+    /**
+     * How long startup waits for warming before the application reports ready anyway; warming then
+     * finishes in the background.
+     */
+    private Duration timeLimit = Duration.ofSeconds(30);
+
+    /**
+     * TTL of warmed entries, capped at the cache's own; bounds how long a row the warmer read just
+     * before a concurrent delete or eviction can be served. Zero keeps the cache's TTL.
+     */
+    private Duration entryTtl = Duration.ofMinutes(10);
+}
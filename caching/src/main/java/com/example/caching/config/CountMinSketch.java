@@ -0,0 +1,88 @@
+package com.example.caching.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate per-key access counts in fixed memory.
+ * <p>
+ * {@value #DEPTH} rows of {@code width} counters; a key maps to one counter per row and its
+ * estimate is the smallest of them, so collisions can only overcount. Increments are
+ * conservative (only counters equal to the current minimum grow), which keeps that error small.
+ * After {@code sampleSize} increments every counter is halved, so the counts follow recent
+ * popularity instead of growing forever.
+ * <p>
+ * Lock-free, since it is updated on every cache read: counters grow by compare-and-set, so an
+ * increment racing with another on the same counter may be dropped, and the halving pass runs
+ * alongside concurrent increments. Both only make the estimates slightly low for a moment.
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * @param width      counters per row, rounded up to a power of two
+     * @param sampleSize increments between two halvings
+     */
+    public CountMinSketch(int width, int sampleSize) {
+        if (width <= 0 || sampleSize <= 0) {
+            throw new IllegalArgumentException("width and sampleSize must be positive");
+        }
+        var rowWidth = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.counters = new AtomicIntegerArray(DEPTH * rowWidth);
+        this.mask = rowWidth - 1;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Counts one access and returns the key's new estimate.
+     */
+    public int increment(Object key) {
+        var hash = spread(key.hashCode());
+        var min = estimate(hash);
+        for (int row = 0; row < DEPTH; row++) {
+            counters.compareAndSet(index(hash, row), min, min + 1);
+        }
+        // Exactly one caller sees each count, so one of them halves per sample.
+        if (additions.incrementAndGet() == sampleSize) {
+            halve();
+        }
+        return min + 1;
+    }
+
+    public int estimate(Object key) {
+        return estimate(spread(key.hashCode()));
+    }
+
+    private int estimate(long hash) {
+        var min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    private void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        additions.addAndGet(-(sampleSize - sampleSize / 2));
+    }
+
+    private int index(long hash, int row) {
+        var h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        h ^= h >>> 32;
+        return row * (mask + 1) + ((int) h & mask);
+    }
+
+    private static long spread(int hashCode) {
+        long h = hashCode * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 29);
+    }
+}
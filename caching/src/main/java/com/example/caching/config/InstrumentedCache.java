@@ -0,0 +1,191 @@
+package com.example.caching.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Records Micrometer meters for the Redis (L2) side of a cache:
+ * <ul>
+ *     <li>{@code cache.redis.get} timer, tagged {@code result=hit|miss}</li>
+ *     <li>{@code cache.redis.put} timer</li>
+ *     <li>{@code cache.redis.payload} summary of encoded value sizes in bytes, taken on every write</li>
+ * </ul>
+ * All tagged with {@code cache=<name>}. {@link #stats()} summarizes the same meters under
+ * {@code metrics}, next to the wrapped cache's own statistics, so nothing touches Redis to report them.
+ * <p>
+ * Payload sizes are reported by {@link CacheValueSerializer} as it encodes the value for Redis,
+ * both on {@link #put} and when {@link #get(Object, Callable)} stores a loaded value; caches
+ * written through another serializer record none.
+ */
+public class InstrumentedCache implements Cache, CacheStatsSource {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final Cache delegate;
+    private final Timer hits;
+    private final Timer misses;
+    private final Timer puts;
+    private final DistributionSummary payload;
+    private final IntConsumer payloadSize;
+
+    public InstrumentedCache(Cache delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        var name = delegate.getName();
+        this.hits = timer("cache.redis.get", name, registry, "result", "hit");
+        this.misses = timer("cache.redis.get", name, registry, "result", "miss");
+        this.puts = timer("cache.redis.put", name, registry);
+        this.payload = DistributionSummary.builder("cache.redis.payload")
+                .description("Encoded size of values written to the cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        this.payloadSize = payload::record;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var start = System.nanoTime();
+        var wrapper = delegate.get(key);
+        record(wrapper != null, System.nanoTime() - start);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        var start = System.nanoTime();
+        var value = delegate.get(key, type);
+        record(value != null, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Time the cache work only: the loader's own duration is subtracted.
+        var loadNanos = new long[]{-1};
+        var start = System.nanoTime();
+        T value;
+        try {
+            value = delegate.get(key, () -> {
+                var loadStart = System.nanoTime();
+                T loadedValue;
+                try {
+                    loadedValue = valueLoader.call();
+                } finally {
+                    loadNanos[0] = System.nanoTime() - loadStart;
+                }
+                // Measure the write of this value only, not whatever the loader itself cached.
+                CacheValueSerializer.reportSizesTo(payloadSize);
+                return loadedValue;
+            });
+        } finally {
+            CacheValueSerializer.reportSizesTo(null);
+        }
+        var loaded = loadNanos[0] >= 0;
+        record(!loaded, System.nanoTime() - start - Math.max(0, loadNanos[0]));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        var start = System.nanoTime();
+        CacheValueSerializer.reportSizesTo(payloadSize);
+        try {
+            delegate.put(key, value);
+        } finally {
+            CacheValueSerializer.reportSizesTo(null);
+        }
+        puts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        var stats = new LinkedHashMap<String, Object>();
+        if (delegate instanceof CacheStatsSource source) {
+            stats.putAll(source.stats());
+        } else if (delegate instanceof RedisCache redisCache) {
+            stats.put("redis", redisCache.getStatistics());
+        }
+        long hitCount = hits.count();
+        long missCount = misses.count();
+        var metrics = new LinkedHashMap<String, Object>();
+        metrics.put("gets", hitCount + missCount);
+        metrics.put("hits", hitCount);
+        metrics.put("misses", missCount);
+        metrics.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        metrics.put("hitLatencyMs", latency(hits.takeSnapshot()));
+        metrics.put("missLatencyMs", latency(misses.takeSnapshot()));
+        metrics.put("putLatencyMs", latency(puts.takeSnapshot()));
+        metrics.put("payloadBytes", summary(payload.takeSnapshot()));
+        stats.put("metrics", metrics);
+        return stats;
+    }
+
+    private void record(boolean hit, long nanos) {
+        (hit ? hits : misses).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Map<String, Object> latency(HistogramSnapshot snapshot) {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("count", snapshot.count());
+        result.put("mean", snapshot.mean(TimeUnit.MILLISECONDS));
+        for (var percentile : snapshot.percentileValues()) {
+            result.put(label(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        result.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+        return result;
+    }
+
+    private static Map<String, Object> summary(HistogramSnapshot snapshot) {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("count", snapshot.count());
+        result.put("mean", snapshot.mean());
+        for (var percentile : snapshot.percentileValues()) {
+            result.put(label(percentile.percentile()), percentile.value());
+        }
+        result.put("max", snapshot.max());
+        return result;
+    }
+
+    private static String label(double percentile) {
+        return "p" + Math.round(percentile * 100);
+    }
+
+    private static Timer timer(String meter, String cacheName, MeterRegistry registry, String... tags) {
+        return Timer.builder(meter)
+                .tag("cache", cacheName)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+    }
+}
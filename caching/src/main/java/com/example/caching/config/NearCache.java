@@ -0,0 +1,176 @@
+package com.example.caching.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Two-level cache: a bounded, short-lived Caffeine L1 in front of the shared Redis L2.
+ * <p>
+ * Reads try L1 first and fill it from L2 on an L1 miss. Writes and evictions go to L2, then
+ * update the local L1 and publish an invalidation so other instances drop their L1 copy.
+ * L1 keys are the string form of the cache key, matching how {@link RedisCache} builds its
+ * keys, so an eviction for {@code "1"} also drops an entry cached under {@code 1L}.
+ * <p>
+ * L1 hands out the cached instance itself rather than a deserialized copy, so callers must
+ * not mutate returned values.
+ */
+public class NearCache implements Cache, CacheStatsSource {
+
+    private final Cache l2;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param invalidationPublisher called with the cache name and the L1 key, or a null key for a clear
+     */
+    public NearCache(Cache l2, NearCacheProperties.Spec spec, BiConsumer<String, String> invalidationPublisher) {
+        this.l2 = l2;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtl())
+                .build();
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return l2.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var l1Key = l1Key(key);
+        var local = l1.getIfPresent(l1Key);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        var remote = l2.get(key);
+        if (remote == null || remote.get() == null) {
+            misses.increment();
+            return remote;
+        }
+        l2Hits.increment();
+        l1.put(l1Key, remote.get());
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var l1Key = l1Key(key);
+        var local = l1.getIfPresent(l1Key);
+        if (local != null) {
+            l1Hits.increment();
+            return (T) local;
+        }
+        // One L2 call: it reads, and loads on a miss, so L2 sees the whole recompute (locks included).
+        var loaded = new boolean[1];
+        var value = l2.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? misses : l2Hits).increment();
+        if (value != null) {
+            l1.put(l1Key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        var l1Key = l1Key(key);
+        if (value != null) {
+            l1.put(l1Key, value);
+        } else {
+            l1.invalidate(l1Key);
+        }
+        invalidationPublisher.accept(getName(), l1Key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        var l1Key = l1Key(key);
+        l1.invalidate(l1Key);
+        invalidationPublisher.accept(getName(), l1Key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        invalidationPublisher.accept(getName(), null);
+    }
+
+    /**
+     * Applies an invalidation published by another instance; never touches L2.
+     */
+    void invalidateLocal(String l1Key) {
+        if (l1Key == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(l1Key);
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long l1 = l1Hits.sum();
+        long l2 = l2Hits.sum();
+        long miss = misses.sum();
+        long requests = l1 + l2 + miss;
+        var stats = new LinkedHashMap<String, Object>();
+        stats.put("requests", requests);
+        stats.put("l1Hits", l1);
+        stats.put("l2Hits", l2);
+        stats.put("misses", miss);
+        stats.put("l1HitRatio", ratio(l1, requests));
+        stats.put("l2HitRatio", ratio(l2, l2 + miss));
+        stats.put("hitRatio", ratio(l1 + l2, requests));
+        stats.put("l1Size", this.l1.estimatedSize());
+        if (l2 instanceof CacheStatsSource source) {
+            stats.put("l2", source.stats());
+        } else if (l2 instanceof RedisCache redisCache) {
+            stats.put("redis", redisCache.getStatistics());
+        }
+        return stats;
+    }
+
+    static String l1Key(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static double ratio(long part, long total) {
+        return total == 0 ? 0.0 : (double) part / total;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.caching.config;
+
+import com.example.caching.sender.RedisPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Composite {@link CacheManager} that wraps the caches configured in {@link NearCacheProperties}
+ * in a {@link NearCache} and serves every other cache straight from the Redis cache manager.
+ * Redis caches pass through the {@link CacheDecorator}s first, so L1 sits outside them.
+ * <p>
+ * L1 invalidations travel over Redis pub/sub as {@code origin|cacheName|key}, or {@code origin|cacheName}
+ * for a clear.
+ * The origin id lets an instance skip its own messages, since it already updated its L1.
+ */
+@Slf4j
+public class NearCacheManager implements CacheManager {
+
+    static final char SEPARATOR = '|';
+
+    private final CacheManager redisCacheManager;
+    private final NearCacheProperties properties;
+    private final RedisPublisher redisPublisher;
+    private final List<CacheDecorator> decorators;
+    private final String origin = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager redisCacheManager, NearCacheProperties properties, RedisPublisher redisPublisher,
+                            List<CacheDecorator> decorators) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.redisPublisher = redisPublisher;
+        this.decorators = List.copyOf(decorators);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        var cached = caches.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        var l2 = redisCacheManager.getCache(name);
+        return l2 == null ? null : caches.computeIfAbsent(name, n -> compose(n, l2));
+    }
+
+    private Cache compose(String name, Cache l2) {
+        var cache = l2;
+        for (var decorator : decorators) {
+            cache = decorator.decorate(cache);
+        }
+        var spec = properties.getCaches().get(name);
+        return spec == null ? cache : new NearCache(cache, spec, this::publishInvalidation);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Handles a message from the invalidation channel.
+     */
+    public void onInvalidation(String message) {
+        var first = message.indexOf(SEPARATOR);
+        if (first < 0) {
+            log.warn("Ignoring malformed cache invalidation: {}", message);
+            return;
+        }
+        if (first == origin.length() && message.startsWith(origin)) {
+            return;
+        }
+        var second = message.indexOf(SEPARATOR, first + 1);
+        var cacheName = second < 0 ? message.substring(first + 1) : message.substring(first + 1, second);
+        if (caches.get(cacheName) instanceof NearCache cache) {
+            cache.invalidateLocal(second < 0 ? null : message.substring(second + 1));
+        }
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        var message = origin + SEPARATOR + cacheName;
+        redisPublisher.publish(properties.getChannel(), key != null ? message + SEPARATOR + key : message);
+    }
+}
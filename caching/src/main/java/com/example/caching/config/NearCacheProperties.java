@@ -0,0 +1,37 @@
+package com.example.caching.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process L1 settings per cache name. Only caches listed here get an L1; the others
+ * are served by Redis alone.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching.near-cache")
+public class NearCacheProperties {
+
+    /**
+     * Pub/sub channel that carries L1 invalidations between instances.
+     */
+    private String channel = "cache-invalidation";
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    @Data
+    public static class Spec {
+        private long maximumSize = 10_000;
+
+        /**
+         * Upper bound on how long an instance can serve a value another instance already replaced,
+         * should an invalidation message be lost or race with a concurrent L2 read.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import com.example.caching.enums.Category;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hand-rolled binary layout for {@link Product}, used by {@link CacheValueSerializer}.
+ * <p>
+ * A product starts with one presence byte (bit {@code i} set when field {@code i} is non-null,
+ * in declaration order), followed by the present fields: integers as zig-zag varints, strings as
+ * varint length + UTF-8, {@code BigDecimal} as scale + unscaled bytes, {@code LocalDateTime} as
+ * epoch second + nano at UTC and the category by name, so reordering enum constants stays
+ * compatible. Adding, removing or retyping a field requires a new {@link CacheValueSerializer}
+ * format version.
+ */
+final class ProductCodec {
+
+    private ProductCodec() {
+    }
+
+    static void writeProducts(List<?> products, Output out) {
+        out.writeVarLong(products.size());
+        for (var product : products) {
+            writeProduct((Product) product, out);
+        }
+    }
+
+    static List<Product> readProducts(Input in) {
+        var size = in.readVarLong();
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed product list size: " + size);
+        }
+        var products = new ArrayList<Product>((int) Math.min(size, 1_024));
+        for (int i = 0; i < size; i++) {
+            products.add(readProduct(in));
+        }
+        return products;
+    }
+
+    static void writeProduct(Product product, Output out) {
+        int presence = 0;
+        presence |= product.getProductId() != null ? 1 : 0;
+        presence |= product.getProductName() != null ? 1 << 1 : 0;
+        presence |= product.getCategory() != null ? 1 << 2 : 0;
+        presence |= product.getPrice() != null ? 1 << 3 : 0;
+        presence |= product.getInStock() != null ? 1 << 4 : 0;
+        presence |= product.getDateOfManufacture() != null ? 1 << 5 : 0;
+        presence |= product.getUpdatedAt() != null ? 1 << 6 : 0;
+        presence |= product.getVendor() != null ? 1 << 7 : 0;
+        out.write(presence);
+
+        if (product.getProductId() != null) {
+            out.writeVarLong(product.getProductId());
+        }
+        if (product.getProductName() != null) {
+            out.writeString(product.getProductName());
+        }
+        if (product.getCategory() != null) {
+            out.writeString(product.getCategory().name());
+        }
+        if (product.getPrice() != null) {
+            out.writeVarLong(product.getPrice().scale());
+            out.writeLengthPrefixed(product.getPrice().unscaledValue().toByteArray());
+        }
+        if (product.getInStock() != null) {
+            out.writeVarLong(product.getInStock());
+        }
+        if (product.getDateOfManufacture() != null) {
+            writeDateTime(product.getDateOfManufacture(), out);
+        }
+        if (product.getUpdatedAt() != null) {
+            writeDateTime(product.getUpdatedAt(), out);
+        }
+        if (product.getVendor() != null) {
+            out.writeString(product.getVendor());
+        }
+    }
+
+    static Product readProduct(Input in) {
+        var presence = in.read();
+        // Built field by field: the builder would default updatedAt to now() when it is absent.
+        var product = new Product();
+        product.setProductId((presence & 1) != 0 ? in.readVarLong() : null);
+        product.setProductName((presence & 1 << 1) != 0 ? in.readString() : null);
+        product.setCategory((presence & 1 << 2) != 0 ? Category.valueOf(in.readString()) : null);
+        if ((presence & 1 << 3) != 0) {
+            var scale = (int) in.readVarLong();
+            product.setPrice(new BigDecimal(new BigInteger(in.readBytes()), scale));
+        }
+        product.setInStock((presence & 1 << 4) != 0 ? in.readVarLong() : null);
+        product.setDateOfManufacture((presence & 1 << 5) != 0 ? readDateTime(in) : null);
+        product.setUpdatedAt((presence & 1 << 6) != 0 ? readDateTime(in) : null);
+        product.setVendor((presence & 1 << 7) != 0 ? in.readString() : null);
+        return product;
+    }
+
+    private static void writeDateTime(LocalDateTime value, Output out) {
+        out.writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeVarLong(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(Input in) {
+        var epochSecond = in.readVarLong();
+        var nano = (int) in.readVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * Growable, unsynchronized byte buffer.
+     */
+    static final class Output {
+
+        private byte[] buf;
+        private int count;
+
+        Output(int size) {
+            this.buf = new byte[size];
+        }
+
+        void write(int b) {
+            ensureCapacity(1);
+            buf[count++] = (byte) b;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buf, count, length);
+            count += length;
+        }
+
+        void writeVarLong(long value) {
+            var zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                write((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            write((int) zigZag);
+        }
+
+        void writeString(String value) {
+            writeLengthPrefixed(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeLengthPrefixed(byte[] bytes) {
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        int size() {
+            return count;
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + extra));
+            }
+        }
+    }
+
+    static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int offset) {
+            this.bytes = bytes;
+            this.position = offset;
+        }
+
+        int read() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated cache value");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long zigZag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = read();
+                zigZag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in cache value");
+        }
+
+        String readString() {
+            var length = (int) readVarLong();
+            checkRemaining(length);
+            var value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            var length = (int) readVarLong();
+            checkRemaining(length);
+            var value = new byte[length];
+            System.arraycopy(bytes, position, value, 0, length);
+            position += length;
+            return value;
+        }
+
+        private void checkRemaining(int length) {
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated cache value");
+            }
+        }
+    }
+}
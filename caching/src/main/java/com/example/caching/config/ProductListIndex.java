@@ -0,0 +1,102 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Targeted invalidation for {@code product_list}: every cached list is tagged with the product
+ * names it depends on (the queried name plus the names of the products it holds), and a write
+ * evicts only the lists tagged with the names it touched instead of the whole cache.
+ */
+@Slf4j
+@Component
+@Order(10)
+public class ProductListIndex implements CacheDecorator {
+
+    public static final String CACHE_NAME = "product_list";
+
+    private final CacheTagIndex tagIndex;
+    // Looked up lazily: the cache manager is itself built from the decorators.
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public ProductListIndex(CacheTagIndex tagIndex, ObjectProvider<CacheManager> cacheManager) {
+        this.tagIndex = tagIndex;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        if (!CACHE_NAME.equals(cache.getName())) {
+            return cache;
+        }
+        return new TaggedCache(cache, tagIndex, (key, value) -> {
+            var tags = new LinkedHashSet<String>();
+            tags.add(nameTag(key));
+            if (value instanceof List<?> products) {
+                products.forEach(product -> {
+                    if (product instanceof Product p) {
+                        tags.add(nameTag(p.getProductName()));
+                    }
+                });
+            }
+            return tags;
+        });
+    }
+
+    /**
+     * Evicts the lists that depend on any of the given product names (nulls are skipped). Inside a
+     * transaction this runs after commit, so readers that start afterwards see the new rows. A
+     * reader that queried before the commit can still put its old page after the eviction; that
+     * page stays stale until the next write to the same names or its product_list TTL.
+     */
+    public void evictNames(String... productNames) {
+        var names = Arrays.stream(productNames).filter(Objects::nonNull).distinct().toList();
+        if (names.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(names);
+                }
+            });
+        } else {
+            evict(names);
+        }
+    }
+
+    private void evict(List<String> names) {
+        var cache = cacheManager.getObject().getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            names.forEach(name -> tagIndex.evict(cache, nameTag(name)));
+        } catch (RuntimeException ex) {
+            // Same policy as CacheErrorHandler: a cache failure must not fail the write that already committed.
+            log.warn("Cache evict failed for cache={} names={}: {}", CACHE_NAME, names, ex.getMessage());
+        }
+    }
+
+    /**
+     * Lower-cased because MySQL's default collation matches names case-insensitively, so a list
+     * cached for "widget" can depend on a product named "Widget".
+     */
+    private static String nameTag(Object productName) {
+        return "name:" + String.valueOf(productName).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.caching.config;
 
+import com.example.caching.listener.CacheInvalidationListener;
+import com.example.caching.listener.ProductIdGuardListener;
+import com.example.caching.listener.ProductNameIndexListener;
 import com.example.caching.listener.RedisSubscriber;
+import com.example.caching.service.ProductIdGuardProperties;
+import com.example.caching.service.ProductNameIndexProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -11,10 +16,19 @@ import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 public class RedisConfig {
 
     @Bean
-    RedisMessageListenerContainer container(RedisConnectionFactory connectionFactory, RedisSubscriber subscriber) {
+    RedisMessageListenerContainer container(RedisConnectionFactory connectionFactory, RedisSubscriber subscriber,
+                                            CacheInvalidationListener cacheInvalidationListener,
+                                            NearCacheProperties nearCacheProperties,
+                                            ProductNameIndexListener productNameIndexListener,
+                                            ProductNameIndexProperties productNameIndexProperties,
+                                            ProductIdGuardListener productIdGuardListener,
+                                            ProductIdGuardProperties productIdGuardProperties) {
         var container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         container.addMessageListener(subscriber, new ChannelTopic("my-channel"));
+        container.addMessageListener(cacheInvalidationListener, new ChannelTopic(nearCacheProperties.getChannel()));
+        container.addMessageListener(productNameIndexListener, new ChannelTopic(productNameIndexProperties.getChannel()));
+        container.addMessageListener(productIdGuardListener, new ChannelTopic(productIdGuardProperties.getChannel()));
         return container;
     }
 }
@@ -0,0 +1,174 @@
+package com.example.caching.config;
+
+import com.example.caching.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reloads hot {@code product} entries in the background shortly before they expire, so the
+ * busiest products do not fall through to MySQL when their TTL runs out.
+ * <p>
+ * Every Redis read of the cache is counted in a {@link CountMinSketch}; keys whose estimate
+ * reaches {@code hot-threshold} are remembered in a bounded set. Every {@code interval} one
+ * pipelined {@code PTTL} call checks them, and those expiring within {@code refresh-window} are
+ * reloaded from the repository and written through the cache manager, soonest-expiring first.
+ * At most {@code max-refreshes-per-second} x {@code interval} keys are reloaded per pass, one at
+ * a time; the rest wait for the next pass.
+ * <p>
+ * A reload first takes {@code <key>#refresh} ({@code SET NX PX refresh-window}), so across
+ * instances each key is reloaded once per window. With a near cache in front, only L1 misses
+ * reach Redis and are counted.
+ */
+@Slf4j
+@Component
+@Order(20)
+public class RefreshAhead implements CacheDecorator {
+
+    static final String CACHE_NAME = "product";
+    private static final String LOCK_SUFFIX = "#refresh";
+
+    private final RefreshAheadProperties properties;
+    private final ProductRepository productRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheManager redisCacheManager;
+    // Looked up lazily: the cache manager is itself built from the decorators.
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    private final CountMinSketch sketch;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Boolean> hotKeys;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cache-refresh-ahead").daemon().factory());
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshesDeferred = new LongAdder();
+
+    public RefreshAhead(RefreshAheadProperties properties, ProductRepository productRepository,
+                        StringRedisTemplate redisTemplate, RedisCacheManager redisCacheManager,
+                        ObjectProvider<CacheManager> cacheManager) {
+        this.properties = properties;
+        this.productRepository = productRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisCacheManager = redisCacheManager;
+        this.cacheManager = cacheManager;
+        this.sketch = new CountMinSketch(properties.getSketchWidth(), properties.getSketchWidth() * 10);
+        this.hotKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxHotKeys())
+                .expireAfterWrite(properties.getHotKeyIdle())
+                .build();
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isEnabled()) {
+            var interval = properties.getInterval().toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshDueKeys, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        if (!properties.isEnabled() || !CACHE_NAME.equals(cache.getName())) {
+            return cache;
+        }
+        return new AccessTrackingCache(cache, this::recordAccess, this::stats);
+    }
+
+    void recordAccess(Object key) {
+        if (sketch.increment(key) >= properties.getHotThreshold()) {
+            // Re-put on every hot read, which also restarts the idle expiry.
+            hotKeys.put(key, Boolean.TRUE);
+        }
+    }
+
+    void refreshDueKeys() {
+        try {
+            var keys = List.copyOf(hotKeys.asMap().keySet());
+            if (keys.isEmpty()) {
+                return;
+            }
+            var keyPrefix = redisCacheManager.getCacheConfigurations().get(CACHE_NAME).getKeyPrefixFor(CACHE_NAME);
+            var ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                keys.forEach(key -> connection.keyCommands().pTtl((keyPrefix + key).getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+            var due = dueForRefresh(keys, ttls, properties.getRefreshWindow().toMillis());
+            var budget = (int) Math.max(1, properties.getMaxRefreshesPerSecond() * properties.getInterval().toMillis() / 1_000);
+            if (due.size() > budget) {
+                refreshesDeferred.add(due.size() - budget);
+            }
+            due.stream().limit(budget).forEach(key -> refresh(keyPrefix, key));
+        } catch (RuntimeException ex) {
+            log.warn("Refresh-ahead pass failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Keys whose remaining TTL is within the window, soonest-expiring first. Missing keys and keys
+     * without an expiry ({@code PTTL} -2 and -1) are left to the normal read path.
+     */
+    static List<Object> dueForRefresh(List<Object> keys, List<Object> ttls, long windowMillis) {
+        var due = new ArrayList<Map.Entry<Object, Long>>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0 && ttl <= windowMillis) {
+                due.add(Map.entry(keys.get(i), ttl));
+            }
+        }
+        due.sort(Map.Entry.comparingByValue());
+        return due.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void refresh(String keyPrefix, Object key) {
+        if (!(key instanceof Long id)) {
+            hotKeys.invalidate(key);
+            return;
+        }
+        var lockKey = keyPrefix + key + LOCK_SUFFIX;
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, "1", properties.getRefreshWindow()))) {
+            return;
+        }
+        try {
+            var cache = cacheManager.getObject().getCache(CACHE_NAME);
+            productRepository.findById(id).ifPresentOrElse(product -> cache.put(id, product), () -> cache.evict(id));
+            refreshes.increment();
+        } catch (RuntimeException ex) {
+            refreshFailures.increment();
+            redisTemplate.delete(lockKey);
+            log.warn("Refresh-ahead of {} {} failed: {}", CACHE_NAME, key, ex.getMessage());
+        }
+    }
+
+    private Map<String, Object> stats() {
+        var stats = new LinkedHashMap<String, Object>();
+        stats.put("hotKeys", hotKeys.estimatedSize());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("refreshesDeferred", refreshesDeferred.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.caching.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link RefreshAhead} on the {@code product} cache.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching.refresh-ahead")
+public class RefreshAheadProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Estimated Redis reads within the sketch's sample period for a key to count as hot.
+     */
+    private int hotThreshold = 8;
+
+    /**
+     * Hot keys tracked at most; the least valuable are dropped first.
+     */
+    private int maxHotKeys = 1_000;
+
+    /**
+     * A hot key that is not read again for this long stops being tracked.
+     */
+    private Duration hotKeyIdle = Duration.ofMinutes(10);
+
+    /**
+     * Counters per sketch row; reads between two halvings of the counts are ten times this.
+     */
+    private int sketchWidth = 16_384;
+
+    /**
+     * Hot keys whose remaining TTL falls below this are reloaded.
+     */
+    private Duration refreshWindow = Duration.ofMinutes(5);
+
+    /**
+     * How often hot keys are checked.
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * Upper bound on background reloads per second, averaged over one interval.
+     */
+    private double maxRefreshesPerSecond = 20;
+}
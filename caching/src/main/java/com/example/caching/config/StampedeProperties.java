@@ -0,0 +1,42 @@
+package com.example.caching.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Settings for {@link StampedeProtectedCache}, applied to the Redis caches named in {@link #caches}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching.stampede")
+public class StampedeProperties {
+
+    /**
+     * Defaults to {@code product}, which must stay listed: {@code ProductService.findById} loads
+     * through the cache with {@code sync}, and only the protected cache skips storing a missing
+     * product instead of failing the put on the null and querying again.
+     */
+    private Set<String> caches = new HashSet<>(Set.of("product"));
+
+    /**
+     * XFetch aggressiveness: above 1 refreshes earlier, below 1 later.
+     */
+    private double beta = 1.0;
+
+    /**
+     * How long a recompute lock is held at most; should exceed the slowest expected recompute.
+     */
+    private Duration lockTtl = Duration.ofSeconds(5);
+
+    /**
+     * How long a caller that missed waits for another instance's recompute before querying the database itself.
+     */
+    private Duration maxWait = Duration.ofSeconds(1);
+
+    private Duration pollInterval = Duration.ofMillis(50);
+}
@@ -0,0 +1,310 @@
+package com.example.caching.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis cache that keeps a hot key from expiring on every instance at once.
+ * <p>
+ * Next to each value it stores how long the last recompute took ({@code <key>#delta}). A read
+ * fetches the value, its remaining TTL and that cost in one script call and applies XFetch: the
+ * read is reported as a miss, so the caller recomputes early, with a probability that rises as the
+ * TTL runs out and with the cost of recomputing. Slow-to-compute keys are refreshed earlier.
+ * <p>
+ * Every recompute, early or on a real miss, first takes a short Redis lock ({@code <key>#lock}),
+ * so only one instance recomputes a key at a time. Others keep serving the current value, or,
+ * when there is none, poll briefly for the winner's result before going to the database themselves.
+ * The write that stores the new value also records its cost and releases the lock, in one script.
+ * A recompute that stores nothing (no such row, or the loader failed) releases the lock right away,
+ * so waiters stop polling and load themselves. That needs the loader to run through
+ * {@link #get(Object, Callable)}, i.e. {@code @Cacheable(sync = true)}.
+ * <p>
+ * Keys are rendered with {@code toString}, like {@link RedisCache} does for the scalar ids used
+ * here. The value, cost and lock keys of one entry are not hash-tagged, so this expects a single
+ * Redis node rather than a cluster.
+ */
+public class StampedeProtectedCache implements Cache, CacheStatsSource {
+
+    private static final String DELTA_SUFFIX = "#delta";
+    private static final String LOCK_SUFFIX = "#lock";
+    private static final byte[] NONE = new byte[0];
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ = RedisScript.of("""
+            return {redis.call('GET', KEYS[1]), redis.call('PTTL', KEYS[1]),
+                    redis.call('GET', KEYS[2]), redis.call('EXISTS', KEYS[3])}
+            """, List.class);
+
+    // ARGV: value, ttl ms (0 = none), recompute cost ms (empty = keep), lock token (empty = none held)
+    private static final RedisScript<Long> WRITE = RedisScript.of("""
+            local ttl = tonumber(ARGV[2])
+            if ttl > 0 then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl)
+            else
+                redis.call('SET', KEYS[1], ARGV[1])
+            end
+            if ARGV[3] ~= '' then
+                if ttl > 0 then
+                    redis.call('SET', KEYS[2], ARGV[3], 'PX', ttl)
+                else
+                    redis.call('SET', KEYS[2], ARGV[3])
+                end
+            elseif ttl > 0 then
+                redis.call('PEXPIRE', KEYS[2], ttl)
+            end
+            if ARGV[4] ~= '' and redis.call('GET', KEYS[3]) == ARGV[4] then
+                redis.call('DEL', KEYS[3])
+            end
+            return 1
+            """, Long.class);
+
+    // Deletes the lock only while it still holds this instance's token.
+    static final RedisScript<Long> RELEASE = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisSerializer<byte[]> ARGS = RedisSerializer.byteArray();
+
+    // Script replies are lists of bulk strings and integers; only the bulk strings pass through this, as raw bytes.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisSerializer<List> REPLY = (RedisSerializer) RedisSerializer.byteArray();
+
+    private final RedisCache delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final StampedeProperties properties;
+    private final String keyPrefix;
+
+    // Locks this instance holds, so the write after a recompute can record its cost and release the lock.
+    private final com.github.benmanes.caffeine.cache.Cache<String, HeldLock> heldLocks;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    private final LongAdder lockWaits = new LongAdder();
+    private final LongAdder lockWaitHits = new LongAdder();
+    private final LongAdder lockWaitTimeouts = new LongAdder();
+
+    public StampedeProtectedCache(RedisCache delegate, StringRedisTemplate redisTemplate, StampedeProperties properties) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.keyPrefix = delegate.getCacheConfiguration().getKeyPrefixFor(delegate.getName());
+        this.heldLocks = Caffeine.newBuilder().expireAfterWrite(properties.getLockTtl()).build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var redisKey = keyPrefix + key;
+        var entry = read(redisKey);
+        if (entry.value() != null) {
+            var random = 1.0 - ThreadLocalRandom.current().nextDouble();
+            if (shouldRefreshEarly(entry.ttlMillis(), entry.deltaMillis(), properties.getBeta(), random)
+                    && tryLock(redisKey)) {
+                earlyRefreshes.increment();
+                return null;
+            }
+            hits.increment();
+            return new SimpleValueWrapper(deserialize(entry.value()));
+        }
+        misses.increment();
+        if (tryLock(redisKey)) {
+            return null;
+        }
+        return awaitRecompute(redisKey);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            releaseLock(keyPrefix + key);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        } else {
+            releaseLock(keyPrefix + key);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            releaseLock(keyPrefix + key);
+            // Keeps RedisCache's null handling (rejected while null caching is disabled).
+            delegate.put(key, null);
+            return;
+        }
+        var redisKey = keyPrefix + key;
+        var held = heldLocks.getIfPresent(redisKey);
+        if (held != null) {
+            heldLocks.invalidate(redisKey);
+        }
+        var ttl = delegate.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        var cost = held != null
+                ? ascii(Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - held.startNanos())))
+                : NONE;
+        redisTemplate.execute(WRITE, ARGS, null,
+                List.of(redisKey, redisKey + DELTA_SUFFIX, redisKey + LOCK_SUFFIX),
+                serialize(value), ascii(Math.max(0, ttl.toMillis())), cost,
+                held != null ? held.token().getBytes(StandardCharsets.UTF_8) : NONE);
+    }
+
+    @Override
+    public void evict(Object key) {
+        var redisKey = keyPrefix + key;
+        heldLocks.invalidate(redisKey);
+        redisTemplate.delete(List.of(redisKey, redisKey + DELTA_SUFFIX, redisKey + LOCK_SUFFIX));
+    }
+
+    @Override
+    public void clear() {
+        // Pattern-based: also removes the cost and lock keys, which share the prefix.
+        delegate.clear();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        var stats = new LinkedHashMap<String, Object>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("earlyRefreshes", earlyRefreshes.sum());
+        stats.put("lockWaits", lockWaits.sum());
+        stats.put("lockWaitHits", lockWaitHits.sum());
+        stats.put("lockWaitTimeouts", lockWaitTimeouts.sum());
+        return stats;
+    }
+
+    /**
+     * XFetch: refresh when {@code -delta * beta * ln(random) >= ttl}, with {@code random} in (0, 1].
+     * Entries without a recorded cost or without an expiry are never refreshed early.
+     */
+    static boolean shouldRefreshEarly(long ttlMillis, long deltaMillis, double beta, double random) {
+        if (ttlMillis <= 0 || deltaMillis <= 0) {
+            return false;
+        }
+        return -deltaMillis * beta * Math.log(random) >= ttlMillis;
+    }
+
+    private boolean tryLock(String redisKey) {
+        var token = UUID.randomUUID().toString();
+        var start = System.nanoTime();
+        var acquired = redisTemplate.opsForValue().setIfAbsent(redisKey + LOCK_SUFFIX, token, properties.getLockTtl());
+        if (Boolean.TRUE.equals(acquired)) {
+            heldLocks.put(redisKey, new HeldLock(token, start));
+            return true;
+        }
+        return false;
+    }
+
+    private void releaseLock(String redisKey) {
+        var held = heldLocks.getIfPresent(redisKey);
+        if (held == null) {
+            return;
+        }
+        heldLocks.invalidate(redisKey);
+        redisTemplate.execute(RELEASE, ARGS, null, List.of(redisKey + LOCK_SUFFIX),
+                held.token().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ValueWrapper awaitRecompute(String redisKey) {
+        lockWaits.increment();
+        var deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(properties.getPollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            var entry = read(redisKey);
+            if (entry.value() != null) {
+                lockWaitHits.increment();
+                return new SimpleValueWrapper(deserialize(entry.value()));
+            }
+            if (!entry.locked()) {
+                // The recompute finished without caching anything (e.g. no such row).
+                break;
+            }
+        }
+        lockWaitTimeouts.increment();
+        return null;
+    }
+
+    private Entry read(String redisKey) {
+        List<?> reply = redisTemplate.execute(READ, ARGS, REPLY,
+                List.of(redisKey, redisKey + DELTA_SUFFIX, redisKey + LOCK_SUFFIX));
+        if (reply == null) {
+            return new Entry(null, -2, -1, false);
+        }
+        var delta = reply.get(2) instanceof byte[] bytes ? Long.parseLong(new String(bytes, StandardCharsets.US_ASCII)) : -1;
+        return new Entry((byte[]) reply.get(0), (Long) reply.get(1), delta, ((Long) reply.get(3)) > 0);
+    }
+
+    private byte[] serialize(Object value) {
+        return ByteUtils.getBytes(delegate.getCacheConfiguration().getValueSerializationPair().write(value));
+    }
+
+    private Object deserialize(byte[] bytes) {
+        return delegate.getCacheConfiguration().getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Entry(byte[] value, long ttlMillis, long deltaMillis, boolean locked) {
+    }
+
+    private record HeldLock(String token, long startNanos) {
+    }
+}
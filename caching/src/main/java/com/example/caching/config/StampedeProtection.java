@@ -0,0 +1,28 @@
+package com.example.caching.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link StampedeProtectedCache} to the Redis caches listed under {@code caching.stampede.caches}.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class StampedeProtection implements CacheDecorator {
+
+    private final StringRedisTemplate redisTemplate;
+    private final StampedeProperties properties;
+
+    @Override
+    public Cache decorate(Cache cache) {
+        if (cache instanceof RedisCache redisCache && properties.getCaches().contains(cache.getName())) {
+            return new StampedeProtectedCache(redisCache, redisTemplate, properties);
+        }
+        return cache;
+    }
+}
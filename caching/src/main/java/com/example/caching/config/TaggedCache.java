@@ -0,0 +1,93 @@
+package com.example.caching.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+/**
+ * Registers every entry written to the wrapped cache under the tags computed from its key and
+ * value, so it can later be evicted by tag through {@link CacheTagIndex}. Everything else is
+ * passed through.
+ */
+public class TaggedCache implements Cache, CacheStatsSource {
+
+    private final Cache delegate;
+    private final CacheTagIndex tagIndex;
+    private final BiFunction<Object, Object, Collection<String>> tagger;
+
+    public TaggedCache(Cache delegate, CacheTagIndex tagIndex, BiFunction<Object, Object, Collection<String>> tagger) {
+        this.delegate = delegate;
+        this.tagIndex = tagIndex;
+        this.tagger = tagger;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> {
+            var value = valueLoader.call();
+            tag(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        tag(key, value);
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        if (delegate instanceof CacheStatsSource source) {
+            return source.stats();
+        }
+        return delegate instanceof RedisCache redisCache ? Map.of("redis", redisCache.getStatistics()) : Map.of();
+    }
+
+    private void tag(Object key, Object value) {
+        if (value != null) {
+            tagIndex.tag(getName(), key, tagger.apply(key, value), ttl(key, value));
+        }
+    }
+
+    private Duration ttl(Object key, Object value) {
+        return delegate instanceof RedisCache redisCache
+                ? redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value)
+                : Duration.ZERO;
+    }
+}
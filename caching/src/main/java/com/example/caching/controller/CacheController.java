@@ -1,5 +1,6 @@
 package com.example.caching.controller;
 
+import com.example.caching.config.CacheStatsSource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -29,14 +30,16 @@ public class CacheController {
         return cacheManager.getCacheNames();
     }
 
-    @Operation(summary = "Get cache statistics", description = "Retrieve cache statistics for Redis caches")
+    @Operation(summary = "Get cache statistics", description = "Retrieve cache statistics, including L1/L2 hit ratios for near caches")
     @ApiResponse(responseCode = "200", description = "Cache statistics")
     @GetMapping("/stats")
     public Map<String, Object> getStats() {
         var stats = new LinkedHashMap<String, Object>();
         cacheManager.getCacheNames().forEach(name -> {
             var cache = cacheManager.getCache(name);
-            if (cache instanceof RedisCache redisCache) {
+            if (cache instanceof CacheStatsSource source) {
+                stats.put(name, source.stats());
+            } else if (cache instanceof RedisCache redisCache) {
                 stats.put(name, redisCache.getStatistics());
             }
         });
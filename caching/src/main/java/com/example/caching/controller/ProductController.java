@@ -1,24 +1,31 @@
 package com.example.caching.controller;
 
+import com.example.caching.dto.CursorPageResponse;
 import com.example.caching.dto.ProductRequest;
 import com.example.caching.dto.ProductResponse;
+import com.example.caching.entity.Product;
 import com.example.caching.mapper.ProductMapper;
+import com.example.caching.service.ProductCursor;
 import com.example.caching.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/products")
@@ -59,6 +66,37 @@ public class ProductController {
         return productService.findByProductName(name, pageable).map(productMapper::toResponse);
     }
 
+    @Operation(summary = "List products by cursor",
+            description = "Keyset pagination, newest first (updatedAt, then id). Pass nextCursor from the previous page to continue; the total is only counted on request.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of products"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    @GetMapping("/cursor")
+    public CursorPageResponse<ProductResponse> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        var slice = productService.findAllAfter(parseCursor(cursor), size);
+        return toCursorPage(slice, size, includeTotal ? productService.countProducts(null) : null);
+    }
+
+    @Operation(summary = "Search products by name with a cursor",
+            description = "Keyset variant of the name search, newest first (updatedAt, then id).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of products matching the name"),
+            @ApiResponse(responseCode = "400", description = "Missing name, invalid cursor or size")
+    })
+    @GetMapping("/search/cursor")
+    public CursorPageResponse<ProductResponse> searchByNameWithCursor(
+            @RequestParam @NotBlank(message = "Name parameter is required") String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        var slice = productService.findByProductNameAfter(name, parseCursor(cursor), size);
+        return toCursorPage(slice, size, includeTotal ? productService.countProducts(name) : null);
+    }
+
     @Operation(summary = "Create a new product", description = "Create a new product and update cache")
     @ApiResponse(responseCode = "201", description = "Product created successfully")
     @PostMapping
@@ -78,8 +116,10 @@ public class ProductController {
     public ResponseEntity<ProductResponse> update(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
         return productService.findById(id)
                 .map(existingProduct -> {
-                    productMapper.updateEntity(existingProduct, request);
-                    var updatedProduct = productService.save(existingProduct);
+                    // Cached instances are shared by the in-process L1 cache, so update a copy.
+                    var product = existingProduct.toBuilder().build();
+                    productMapper.updateEntity(product, request);
+                    var updatedProduct = productService.save(product);
                     return ResponseEntity.ok(productMapper.toResponse(updatedProduct));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -99,4 +139,26 @@ public class ProductController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    private static ProductCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return ProductCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    private CursorPageResponse<ProductResponse> toCursorPage(Slice<Product> slice, int size, Long total) {
+        var content = slice.getContent();
+        return CursorPageResponse.<ProductResponse>builder()
+                .content(content.stream().map(productMapper::toResponse).toList())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .nextCursor(slice.hasNext() ? ProductCursor.of(content.getLast()).encode() : null)
+                .totalElements(total)
+                .build();
+    }
 }
@@ -1,32 +1,49 @@
 package com.example.caching.controller;
 
+import com.example.caching.dto.UserActivityRequest;
 import com.example.caching.service.UserService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
-@RequestMapping("/api/users/{userId}/activities")
+@RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserActivityController {
 
     private final UserService userService;
 
-    @PostMapping
+    @PostMapping("/{userId}/activities")
     public ResponseEntity<Void> addActivity(@PathVariable String userId, @RequestBody String activity) {
         userService.addUserActivity(userId, activity);
         return ResponseEntity.ok().build();
     }
 
-    @GetMapping("/oldest")
+    /**
+     * Records activities for many users in one pipelined Redis batch; per user, order is preserved.
+     */
+    @PostMapping("/activities")
+    public ResponseEntity<Void> addActivities(@RequestBody @NotEmpty @Size(max = 10_000) List<@Valid UserActivityRequest> requests) {
+        var activitiesByUser = requests.stream().collect(Collectors.groupingBy(UserActivityRequest::getUserId,
+                LinkedHashMap::new, Collectors.mapping(UserActivityRequest::getActivity, Collectors.toList())));
+        userService.addUserActivities(activitiesByUser);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/{userId}/activities/oldest")
     public ResponseEntity<String> getOldest(@PathVariable String userId) {
         var activity = userService.getOldestUserActivity(userId);
         return activity != null ? ResponseEntity.ok(activity) : ResponseEntity.noContent().build();
     }
 
-    @GetMapping
+    @GetMapping("/{userId}/activities")
     public ResponseEntity<List<String>> getAll(@PathVariable String userId) {
         return ResponseEntity.ok(userService.getUserActivities(userId));
     }
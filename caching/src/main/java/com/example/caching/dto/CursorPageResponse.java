@@ -0,0 +1,23 @@
+package com.example.caching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // Token for the next page, null on the last page.
+    private String nextCursor;
+    // Only filled when requested with includeTotal=true; may lag recent writes by a few seconds.
+    private Long totalElements;
+}
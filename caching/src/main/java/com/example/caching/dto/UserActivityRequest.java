@@ -0,0 +1,20 @@
+package com.example.caching.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserActivityRequest {
+
+    @NotBlank(message = "User id is required")
+    private String userId;
+
+    @NotBlank(message = "Activity is required")
+    private String activity;
+}
@@ -0,0 +1,28 @@
+package com.example.caching.listener;
+
+import com.example.caching.config.NearCacheManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Drops L1 entries that another instance replaced or evicted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final NearCacheManager nearCacheManager;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var msg = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("Received cache invalidation: {}", msg);
+        nearCacheManager.onInvalidation(msg);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.caching.listener;
+
+import com.example.caching.service.ProductIdGuard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies product ids saved or deleted on other instances to the local {@link ProductIdGuard}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductIdGuardListener implements MessageListener {
+
+    private final ProductIdGuard productIdGuard;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var msg = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("Received product id guard update: {}", msg);
+        productIdGuard.onMessage(msg);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.caching.listener;
+
+import com.example.caching.service.ProductNameIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies product name index updates made by other instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductNameIndexListener implements MessageListener {
+
+    private final ProductNameIndex productNameIndex;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var msg = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("Received product name index update: {}", msg);
+        productNameIndex.onMessage(msg);
+    }
+}
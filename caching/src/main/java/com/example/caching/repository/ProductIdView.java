@@ -0,0 +1,9 @@
+package com.example.caching.repository;
+
+/**
+ * Id-only projection for building the product id filter without loading whole rows.
+ */
+public interface ProductIdView {
+
+    Long getProductId();
+}
@@ -0,0 +1,11 @@
+package com.example.caching.repository;
+
+/**
+ * Id and name only, for loading the product name index without materializing entities.
+ */
+public interface ProductNameView {
+
+    Long getProductId();
+
+    String getProductName();
+}
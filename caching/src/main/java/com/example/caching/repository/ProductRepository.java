@@ -3,9 +3,13 @@ package com.example.caching.repository;
 import com.example.caching.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -13,4 +17,40 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByProductName(String productName, Sort sort);
 
     Page<Product> findByProductNameContainingIgnoreCase(String productName, Pageable pageable);
+
+    Slice<Product> findByProductIdGreaterThan(Long productId, Pageable pageable);
+
+    Slice<ProductNameView> findNamesByProductIdGreaterThan(Long productId, Pageable pageable);
+
+    Slice<ProductIdView> findIdsByProductIdGreaterThan(Long productId, Pageable pageable);
+
+    Page<Product> findByProductIdInAndProductNameContainingIgnoreCase(Collection<Long> productIds, String productName, Pageable pageable);
+
+    long countByProductNameContainingIgnoreCase(String productName);
+
+    long countByProductIdInAndProductNameContainingIgnoreCase(Collection<Long> productIds, String productName);
+
+    // Keyset pages, newest first: rows strictly after (updatedAt, productId) in that order. Pass an unsorted Pageable.
+
+    @Query("""
+            select p from Product p
+            where p.updatedAt < :updatedAt or (p.updatedAt = :updatedAt and p.productId < :productId)
+            order by p.updatedAt desc, p.productId desc""")
+    Slice<Product> findPageAfter(LocalDateTime updatedAt, Long productId, Pageable pageable);
+
+    // namePattern is a LIKE pattern with '\' as escape character.
+    @Query("""
+            select p from Product p
+            where upper(p.productName) like upper(:namePattern) escape '\\'
+              and (p.updatedAt < :updatedAt or (p.updatedAt = :updatedAt and p.productId < :productId))
+            order by p.updatedAt desc, p.productId desc""")
+    Slice<Product> findByNamePageAfter(String namePattern, LocalDateTime updatedAt, Long productId, Pageable pageable);
+
+    @Query("""
+            select p from Product p
+            where p.productId in :productIds and upper(p.productName) like upper(:namePattern) escape '\\'
+              and (p.updatedAt < :updatedAt or (p.updatedAt = :updatedAt and p.productId < :productId))
+            order by p.updatedAt desc, p.productId desc""")
+    Slice<Product> findByIdsAndNamePageAfter(Collection<Long> productIds, String namePattern,
+                                             LocalDateTime updatedAt, Long productId, Pageable pageable);
 }
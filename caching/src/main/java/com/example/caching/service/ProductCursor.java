@@ -0,0 +1,53 @@
+package com.example.caching.service;
+
+import com.example.caching.entity.Product;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position after the last product of a keyset page ordered by {@code updatedAt desc, productId desc}.
+ * <p>
+ * Clients see it only as an opaque token: the Base64url encoding (no padding) of the epoch second
+ * and nano of {@code updatedAt} at UTC followed by the product id, 20 bytes in total. A token that
+ * does not decode to exactly that layout is rejected with {@link IllegalArgumentException}.
+ */
+public record ProductCursor(LocalDateTime updatedAt, long productId) {
+
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public static ProductCursor of(Product product) {
+        return new ProductCursor(product.getUpdatedAt(), product.getProductId());
+    }
+
+    public String encode() {
+        var buffer = ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(updatedAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(updatedAt.getNano())
+                .putLong(productId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static ProductCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        var epochSecond = buffer.getLong();
+        var nano = buffer.getInt();
+        try {
+            return new ProductCursor(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC), buffer.getLong());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.caching.service;
+
+import com.example.caching.repository.ProductRepository;
+import com.example.caching.sender.RedisPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Tells {@link ProductService#findById(Long)} which ids certainly do not exist, so lookups of
+ * missing products (a scraper walking the id space, stale links) skip Redis and MySQL.
+ * <p>
+ * Existing ids are kept in a {@link ScalableBloomFilter}, built in the background at startup and
+ * rebuilt every {@code rebuild-interval} from an id-only keyset scan; the rebuild is also what
+ * forgets deleted ids. Saves add their id after commit and publish {@code origin|put|id} on
+ * {@code caching.id-guard.channel}, so every instance's filter follows. Until the first build
+ * completes every id passes.
+ * <p>
+ * The filter only answers for ids up to the highest one its build scanned. {@code product_id} is
+ * {@code AUTO_INCREMENT}, so rows inserted later, whether through another service, plain SQL or a
+ * lost pub/sub message, have larger ids and always pass; the negative cache still absorbs repeated
+ * lookups of missing ids above that watermark. The exception is a row whose inserting transaction
+ * was still open while the build scanned past its id; it passes again after the next rebuild.
+ * <p>
+ * Ids that pass the filter but are not in the database (false positives and ids deleted since
+ * the last rebuild) are remembered for {@code negative-ttl}; deletes publish
+ * {@code origin|remove|id} so the id is answered as missing everywhere right away. A lookup that
+ * races with the insert of its id can still remember it as missing for up to that TTL.
+ * <p>
+ * Metrics: {@code product.id.guard.queries.saved} (tag {@code reason}: {@code filter} or
+ * {@code negative-cache}), {@code product.id.guard.false.positives} (missing ids the filter was
+ * asked about and let through), {@code product.id.guard.unchecked.misses} (missing ids it could not
+ * rule out: before the first build, above the watermark, or deleted through this service since
+ * the last build), and gauges for the observed false-positive rate, the filter's expected rate,
+ * ids and bits.
+ */
+@Slf4j
+@Component
+public class ProductIdGuard {
+
+    static final char SEPARATOR = '|';
+
+    private final ProductRepository productRepository;
+    private final RedisPublisher redisPublisher;
+    private final ProductIdGuardProperties properties;
+    private final String origin = UUID.randomUUID().toString();
+    private final Cache<Long, Boolean> missing;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("product-id-guard").daemon().factory());
+
+    private final Counter savedByFilter;
+    private final Counter savedByNegativeCache;
+    private final Counter falsePositives;
+    private final Counter uncheckedMisses;
+
+    // Null until the first build completes.
+    private volatile Snapshot snapshot;
+    // The filter a rebuild is filling and the ids deleted meanwhile; updates go to both. Guarded by this.
+    private ScalableBloomFilter building;
+    private Set<Long> removedWhileBuilding;
+
+    public ProductIdGuard(ProductRepository productRepository, RedisPublisher redisPublisher,
+                          ProductIdGuardProperties properties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.redisPublisher = redisPublisher;
+        this.properties = properties;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaxSize())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .build();
+        this.savedByFilter = Counter.builder("product.id.guard.queries.saved").tag("reason", "filter")
+                .description("Lookups of missing product ids answered by the Bloom filter").register(meterRegistry);
+        this.savedByNegativeCache = Counter.builder("product.id.guard.queries.saved").tag("reason", "negative-cache")
+                .description("Lookups of missing product ids answered by the negative cache").register(meterRegistry);
+        this.falsePositives = Counter.builder("product.id.guard.false.positives")
+                .description("Ids the filter let through that were not in the database").register(meterRegistry);
+        this.uncheckedMisses = Counter.builder("product.id.guard.unchecked.misses")
+                .description("Ids not in the database that the filter could not have ruled out").register(meterRegistry);
+        Gauge.builder("product.id.guard.false.positive.rate", this, ProductIdGuard::observedFalsePositiveRate)
+                .description("Share of lookups of missing ids that the filter let through").register(meterRegistry);
+        Gauge.builder("product.id.guard.expected.false.positive.rate", this, guard -> guard.filterStat(ScalableBloomFilter::expectedFpp))
+                .register(meterRegistry);
+        Gauge.builder("product.id.guard.ids", this, guard -> guard.filterStat(ScalableBloomFilter::size))
+                .register(meterRegistry);
+        Gauge.builder("product.id.guard.bits", this, guard -> guard.filterStat(ScalableBloomFilter::bitSize))
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isEnabled()) {
+            rebuilder.scheduleWithFixedDelay(this::rebuild, 0, properties.getRebuildInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    void rebuild() {
+        var start = System.nanoTime();
+        try {
+            var next = new ScalableBloomFilter(Math.max(properties.getInitialCapacity(), productRepository.count()),
+                    properties.getFpp());
+            synchronized (this) {
+                building = next;
+                removedWhileBuilding = ConcurrentHashMap.newKeySet();
+            }
+            var pageRequest = PageRequest.of(0, properties.getBuildPageSize(), Sort.by("productId"));
+            var lastId = Long.MIN_VALUE;
+            var hasNext = true;
+            while (hasNext) {
+                var page = productRepository.findIdsByProductIdGreaterThan(lastId, pageRequest);
+                for (var row : page.getContent()) {
+                    next.put(row.getProductId());
+                    lastId = row.getProductId();
+                }
+                hasNext = page.hasNext();
+            }
+            synchronized (this) {
+                snapshot = new Snapshot(next, lastId, removedWhileBuilding);
+                building = null;
+                removedWhileBuilding = null;
+            }
+            log.info("Product id filter built: {} ids up to id {}, {} KiB, expected false-positive rate {} in {} ms",
+                    next.size(), lastId, next.bitSize() / 8 / 1024, String.format("%.4f", next.expectedFpp()),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception ex) {
+            synchronized (this) {
+                building = null;
+                removedWhileBuilding = null;
+            }
+            log.warn("Product id filter build failed - keeping the previous filter: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * False when {@code id} is certainly not a product; each such answer is counted as a saved query.
+     */
+    public boolean mightExist(Long id) {
+        if (id == null || !properties.isEnabled()) {
+            return true;
+        }
+        var current = snapshot;
+        if (current != null && current.rulesOut(id)) {
+            savedByFilter.increment();
+            return false;
+        }
+        if (missing.getIfPresent(id) != null) {
+            savedByNegativeCache.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same answer as {@code !mightExist(id)} without counting it; for callers re-checking an id
+     * that {@link #mightExist} has already counted.
+     */
+    public boolean isKnownMissing(Long id) {
+        if (id == null || !properties.isEnabled()) {
+            return false;
+        }
+        var current = snapshot;
+        return (current != null && current.rulesOut(id)) || missing.getIfPresent(id) != null;
+    }
+
+    /**
+     * Records that the database has no product {@code id} although it passed {@link #mightExist}.
+     */
+    public void recordMissing(Long id) {
+        if (id == null || !properties.isEnabled()) {
+            return;
+        }
+        var current = snapshot;
+        if (current != null && current.answersFor(id) && current.filter().mightContain(id)) {
+            falsePositives.increment();
+        } else {
+            uncheckedMisses.increment();
+        }
+        missing.put(id, Boolean.TRUE);
+    }
+
+    public void add(Long productId) {
+        afterCommit(() -> {
+            addLocal(productId);
+            publish("put" + SEPARATOR + productId);
+        });
+    }
+
+    public void remove(Long productId) {
+        afterCommit(() -> {
+            removeLocal(productId);
+            publish("remove" + SEPARATOR + productId);
+        });
+    }
+
+    /**
+     * Handles a message from the guard channel.
+     */
+    public void onMessage(String message) {
+        var parts = message.split("\\|");
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed product id guard update: {}", message);
+            return;
+        }
+        if (parts[0].equals(origin)) {
+            return;
+        }
+        var productId = Long.parseLong(parts[2]);
+        switch (parts[1]) {
+            case "put" -> addLocal(productId);
+            case "remove" -> removeLocal(productId);
+            default -> log.warn("Ignoring unknown product id guard update: {}", message);
+        }
+    }
+
+    double observedFalsePositiveRate() {
+        var passed = falsePositives.count();
+        var total = passed + savedByFilter.count();
+        return total == 0 ? 0 : passed / total;
+    }
+
+    private synchronized void addLocal(Long productId) {
+        if (building != null) {
+            building.put(productId);
+        }
+        var current = snapshot;
+        if (current != null) {
+            current.filter().put(productId);
+            current.removed().remove(productId);
+        }
+        missing.invalidate(productId);
+    }
+
+    private synchronized void removeLocal(Long productId) {
+        if (removedWhileBuilding != null) {
+            removedWhileBuilding.add(productId);
+        }
+        var current = snapshot;
+        if (current != null) {
+            current.removed().add(productId);
+        }
+        missing.put(productId, Boolean.TRUE);
+    }
+
+    private double filterStat(ToDoubleFunction<ScalableBloomFilter> stat) {
+        var current = snapshot;
+        return current != null ? stat.applyAsDouble(current.filter()) : Double.NaN;
+    }
+
+    private void publish(String update) {
+        try {
+            redisPublisher.publish(properties.getChannel(), origin + SEPARATOR + update);
+        } catch (RuntimeException ex) {
+            log.warn("Publishing product id guard update failed: {}", ex.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A built filter, the highest id its build scanned and the ids deleted since the build started.
+     * Ids above the watermark are never ruled out; deleted ids may still be in the filter.
+     */
+    private record Snapshot(ScalableBloomFilter filter, long watermark, Set<Long> removed) {
+
+        boolean rulesOut(long id) {
+            return id <= watermark && !filter.mightContain(id);
+        }
+
+        /**
+         * Whether a "might contain" for {@code id} is the filter's own error rather than a known gap.
+         */
+        boolean answersFor(long id) {
+            return id <= watermark && !removed.contains(id);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.caching.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link ProductIdGuard}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching.id-guard")
+public class ProductIdGuardProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Pub/sub channel that carries new and deleted ids between instances.
+     */
+    private String channel = "product-id-guard";
+
+    /**
+     * Target false-positive probability of the filter's first stage; later stages tighten it, so
+     * the overall rate stays below twice this.
+     */
+    private double fpp = 0.01;
+
+    /**
+     * Ids the first stage holds; a rebuild sizes it for at least the current row count.
+     */
+    private long initialCapacity = 100_000;
+
+    /**
+     * How often the filter is rebuilt from the table, which drops deleted ids.
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Ids read per query during a rebuild.
+     */
+    private int buildPageSize = 10_000;
+
+    /**
+     * How long an id that passed the filter but was not in the database is answered without a query.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(60);
+
+    /**
+     * Missing ids remembered at most.
+     */
+    private long negativeMaxSize = 100_000;
+}
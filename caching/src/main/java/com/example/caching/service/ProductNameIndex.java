@@ -0,0 +1,206 @@
+package com.example.caching.service;
+
+import com.example.caching.repository.ProductRepository;
+import com.example.caching.sender.RedisPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trigram index over product names that turns substring searches into primary-key lookups.
+ * <p>
+ * Built in the background at startup from id/name projections; until it is ready, and for
+ * queries it cannot answer (under three characters, or more than {@code max-candidates}
+ * matches), {@link #candidates(String)} is empty and callers fall back to the database query.
+ * <p>
+ * Writes are applied after their transaction commits and published as {@code origin|put|id|name}
+ * or {@code origin|remove|id} on {@code caching.name-index.channel}, so every instance's index
+ * follows writes made anywhere. Pub/sub is at-most-once and rows can change without going through
+ * {@link ProductService}, so the index is also rebuilt every {@code rebuild-interval} and swapped
+ * in whole; that bounds how long a missed update can hide a product from searches. Updates that
+ * arrive during a rebuild go into both indexes and win over the rows the rebuild read.
+ */
+@Slf4j
+@Component
+public class ProductNameIndex {
+
+    static final char SEPARATOR = '|';
+
+    private final ProductRepository productRepository;
+    private final RedisPublisher redisPublisher;
+    private final ProductNameIndexProperties properties;
+    private final String origin = UUID.randomUUID().toString();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("product-name-index").daemon().factory());
+
+    // Null until the first build completes.
+    private volatile TrigramIndex index;
+    // The index a rebuild is filling, and ids removed meanwhile that it must not bring back. Guarded by this.
+    private TrigramIndex building;
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    public ProductNameIndex(ProductRepository productRepository, RedisPublisher redisPublisher,
+                            ProductNameIndexProperties properties) {
+        this.productRepository = productRepository;
+        this.redisPublisher = redisPublisher;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isEnabled()) {
+            rebuilder.scheduleWithFixedDelay(this::build, 0, properties.getRebuildInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    void build() {
+        var start = System.nanoTime();
+        var next = new TrigramIndex();
+        synchronized (this) {
+            building = next;
+            removedDuringBuild.clear();
+        }
+        try {
+            var pageRequest = PageRequest.of(0, properties.getBuildPageSize(), Sort.by("productId"));
+            var lastId = Long.MIN_VALUE;
+            var hasNext = true;
+            while (hasNext) {
+                var page = productRepository.findNamesByProductIdGreaterThan(lastId, pageRequest);
+                // Per page, so a removal cannot slip in between the tombstone check and the insert.
+                synchronized (this) {
+                    for (var row : page.getContent()) {
+                        if (!removedDuringBuild.contains(row.getProductId())) {
+                            next.putIfAbsent(row.getProductId(), row.getProductName());
+                        }
+                    }
+                }
+                if (!page.getContent().isEmpty()) {
+                    lastId = page.getContent().getLast().getProductId();
+                }
+                hasNext = page.hasNext();
+            }
+            synchronized (this) {
+                index = next;
+                building = null;
+                removedDuringBuild.clear();
+            }
+            log.info("Product name index built: {} products in {} ms", next.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception ex) {
+            synchronized (this) {
+                building = null;
+                removedDuringBuild.clear();
+            }
+            log.warn("Product name index build failed - {}: {}",
+                    index == null ? "searches use the database" : "keeping the previous index", ex.getMessage());
+        }
+    }
+
+    /**
+     * Ids of the products whose name contains {@code query}, ignoring case and accents, or empty
+     * when the index cannot answer the query.
+     */
+    public Optional<List<Long>> candidates(String query) {
+        var current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        var ids = current.search(query, properties.getMaxCandidates());
+        return ids == null ? Optional.empty() : Optional.of(Arrays.stream(ids).boxed().toList());
+    }
+
+    public void indexName(Long productId, String productName) {
+        afterCommit(() -> {
+            putLocal(productId, productName);
+            publish("put" + SEPARATOR + productId + SEPARATOR + productName);
+        });
+    }
+
+    public void remove(Long productId) {
+        afterCommit(() -> {
+            removeLocal(productId);
+            publish("remove" + SEPARATOR + productId);
+        });
+    }
+
+    /**
+     * Handles a message from the index channel.
+     */
+    public void onMessage(String message) {
+        var parts = message.split("\\|", 4);
+        if (parts.length < 3) {
+            log.warn("Ignoring malformed product name index update: {}", message);
+            return;
+        }
+        if (parts[0].equals(origin)) {
+            return;
+        }
+        var productId = Long.parseLong(parts[2]);
+        switch (parts[1]) {
+            case "put" -> putLocal(productId, parts.length == 4 ? parts[3] : "");
+            case "remove" -> removeLocal(productId);
+            default -> log.warn("Ignoring unknown product name index update: {}", message);
+        }
+    }
+
+    private synchronized void putLocal(Long productId, String productName) {
+        if (building != null) {
+            building.put(productId, productName);
+            removedDuringBuild.remove(productId);
+        }
+        if (index != null) {
+            index.put(productId, productName);
+        }
+    }
+
+    private synchronized void removeLocal(Long productId) {
+        if (building != null) {
+            building.remove(productId);
+            removedDuringBuild.add(productId);
+        }
+        if (index != null) {
+            index.remove(productId);
+        }
+    }
+
+    private void publish(String update) {
+        try {
+            redisPublisher.publish(properties.getChannel(), origin + SEPARATOR + update);
+        } catch (RuntimeException ex) {
+            log.warn("Publishing product name index update failed: {}", ex.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
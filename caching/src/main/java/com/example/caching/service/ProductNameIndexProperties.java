@@ -0,0 +1,40 @@
+package com.example.caching.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link ProductNameIndex}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching.name-index")
+public class ProductNameIndexProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Pub/sub channel that carries index updates between instances.
+     */
+    private String channel = "product-name-index";
+
+    /**
+     * Queries matching more products than this use the database query instead; an id list that
+     * long costs about as much as the scan it replaces.
+     */
+    private int maxCandidates = 10_000;
+
+    /**
+     * How often the index is rebuilt from the table, which repairs updates missed over pub/sub or
+     * made without going through the service.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+
+    /**
+     * Rows read per query while building the index.
+     */
+    private int buildPageSize = 5_000;
+}
@@ -1,18 +1,27 @@
 package com.example.caching.service;
 
+import com.example.caching.config.ProductListIndex;
+import com.example.caching.config.StampedeProtectedCache;
 import com.example.caching.entity.Product;
 import com.example.caching.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +29,42 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProductService {
 
+    // Sorts before every stored row: MySQL DATETIME ends at 9999-12-31 23:59:59.
+    private static final ProductCursor FIRST = new ProductCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    static final Duration TOTAL_TTL = Duration.ofSeconds(30);
+
     private final ProductRepository productRepository;
+    private final ProductListIndex productListIndex;
+    private final ProductNameIndex productNameIndex;
+    private final ProductIdGuard productIdGuard;
+
+    // Per-instance totals for cursor pages, keyed by name ("" = all products).
+    private final Cache<String, Long> totals = Caffeine.newBuilder()
+            .expireAfterWrite(TOTAL_TTL)
+            .maximumSize(1_000)
+            .build();
 
+    /**
+     * Ids that {@link ProductIdGuard} rules out skip the cache as well as the database: the cache
+     * condition is evaluated before the Redis lookup, and this method then answers without a query.
+     * <p>
+     * {@code sync} routes the load through the cache, so a lookup that finds no row releases the
+     * cache's recompute lock instead of leaving it to expire. An empty result is not cached:
+     * {@link StampedeProtectedCache}, on {@code product} by default,
+     * returns it without a put.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "product", unless = "#result == null", key = "#id")
+    @Cacheable(cacheNames = "product", key = "#id", sync = true, condition = "@productIdGuard.mightExist(#id)")
     public Optional<Product> findById(Long id) {
-        return productRepository.findById(id);
+        if (productIdGuard.isKnownMissing(id)) {
+            return Optional.empty();
+        }
+        var product = productRepository.findById(id);
+        if (product.isEmpty()) {
+            productIdGuard.recordMissing(id);
+        }
+        return product;
     }
 
     @Transactional(readOnly = true)
@@ -34,9 +73,21 @@ public class ProductService {
         return productRepository.findByProductName(productName, Sort.by("updatedAt").descending());
     }
 
+    /**
+     * Resolves the name to candidate ids through {@link ProductNameIndex} and pages over those by
+     * primary key; the name condition is still applied so the database's collation decides the
+     * final match. Falls back to the {@code LIKE} query when the index cannot answer.
+     */
     @Transactional(readOnly = true)
     public Page<Product> findByProductName(String productName, Pageable pageable) {
-        return productRepository.findByProductNameContainingIgnoreCase(productName, pageable);
+        var candidates = productNameIndex.candidates(productName);
+        if (candidates.isEmpty()) {
+            return productRepository.findByProductNameContainingIgnoreCase(productName, pageable);
+        }
+        var ids = candidates.get();
+        return ids.isEmpty()
+                ? Page.empty(pageable)
+                : productRepository.findByProductIdInAndProductNameContainingIgnoreCase(ids, productName, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -44,24 +95,85 @@ public class ProductService {
         return productRepository.findAll(pageable);
     }
 
+    /**
+     * Keyset page of all products ordered by {@code updatedAt desc, productId desc}, starting after
+     * {@code cursor} (null for the first page). Reads one extra row to detect a next page; no count query.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> findAllAfter(ProductCursor cursor, int size) {
+        var from = cursor != null ? cursor : FIRST;
+        return productRepository.findPageAfter(from.updatedAt(), from.productId(), PageRequest.ofSize(size));
+    }
+
+    /**
+     * Keyset variant of {@link #findByProductName(String, Pageable)}, in the same order as {@link #findAllAfter}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> findByProductNameAfter(String productName, ProductCursor cursor, int size) {
+        var from = cursor != null ? cursor : FIRST;
+        var pattern = containsPattern(productName);
+        var candidates = productNameIndex.candidates(productName);
+        if (candidates.isEmpty()) {
+            return productRepository.findByNamePageAfter(pattern, from.updatedAt(), from.productId(), PageRequest.ofSize(size));
+        }
+        var ids = candidates.get();
+        return ids.isEmpty()
+                ? new SliceImpl<>(List.of(), PageRequest.ofSize(size), false)
+                : productRepository.findByIdsAndNamePageAfter(ids, pattern, from.updatedAt(), from.productId(), PageRequest.ofSize(size));
+    }
+
+    /**
+     * Number of products whose name contains {@code productName}, or of all products when it is null.
+     * Cached per instance for {@link #TOTAL_TTL}, so it can lag recent writes by that much.
+     */
+    @Transactional(readOnly = true)
+    public long countProducts(String productName) {
+        return totals.get(productName != null ? productName : "", name -> {
+            if (name.isEmpty()) {
+                return productRepository.count();
+            }
+            var candidates = productNameIndex.candidates(name);
+            if (candidates.isEmpty()) {
+                return productRepository.countByProductNameContainingIgnoreCase(name);
+            }
+            var ids = candidates.get();
+            return ids.isEmpty() ? 0L : productRepository.countByProductIdInAndProductNameContainingIgnoreCase(ids, name);
+        });
+    }
+
+    /**
+     * Evicts only the {@code product_list} entries for the product's previous and new name. The previous
+     * name is read in the same transaction; the merge below then finds the row already loaded.
+     * Expects a detached product, as returned by {@link #findById(Long)}.
+     */
     @Transactional
     @Caching(
             put = @CachePut(cacheNames = "product", condition = "#result.inStock gt 0", key = "#result.productId"),
-            evict = {
-                    @CacheEvict(cacheNames = "product_list", allEntries = true),
-                    @CacheEvict(cacheNames = "product", condition = "#result.inStock eq 0", key = "#result.productId")
-            }
+            evict = @CacheEvict(cacheNames = "product", condition = "#result.inStock eq 0", key = "#result.productId")
     )
     public Product save(Product product) {
-        return productRepository.save(product);
+        var previousName = product.getProductId() == null ? null
+                : productRepository.findById(product.getProductId()).map(Product::getProductName).orElse(null);
+        var saved = productRepository.save(product);
+        productListIndex.evictNames(previousName, saved.getProductName());
+        productNameIndex.indexName(saved.getProductId(), saved.getProductName());
+        productIdGuard.add(saved.getProductId());
+        return saved;
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "product", key = "#product.productId", beforeInvocation = true),
-            @CacheEvict(cacheNames = "product_list", allEntries = true, beforeInvocation = true)
-    })
+    @CacheEvict(cacheNames = "product", key = "#product.productId", beforeInvocation = true)
     public void delete(Product product) {
         productRepository.delete(product);
+        productListIndex.evictNames(product.getProductName());
+        productNameIndex.remove(product.getProductId());
+        productIdGuard.remove(product.getProductId());
+    }
+
+    /**
+     * Escapes like the derived {@code Containing} queries: a backslash before {@code %}, {@code _} and itself.
+     */
+    static String containsPattern(String value) {
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
     }
 }
@@ -0,0 +1,170 @@
+package com.example.caching.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over {@code long} ids that grows with its content (Almeida et al., "Scalable Bloom Filters").
+ * <p>
+ * Ids go into the newest of a series of plain Bloom filters. Once that one holds its capacity, a
+ * new one with {@value #GROWTH} times the capacity and {@value #TIGHTENING} times the target
+ * false-positive probability is added, so the compound probability stays below
+ * {@code fpp / (1 - TIGHTENING)} however many ids arrive. A lookup checks every stage; an id that
+ * was added is always reported, an id that was not is reported with that small probability.
+ * <p>
+ * Lookups take no lock; additions are serialized. Bits are written through an {@link AtomicLongArray},
+ * so a completed {@link #put} is visible to every later lookup.
+ */
+public class ScalableBloomFilter {
+
+    static final int GROWTH = 2;
+    static final double TIGHTENING = 0.5;
+
+    private final double fpp;
+    private volatile Stage[] stages;
+    private long size;
+
+    /**
+     * @param initialCapacity ids the first stage holds at {@code fpp}
+     * @param fpp             target false-positive probability of the first stage, in (0, 1)
+     */
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+        if (initialCapacity <= 0 || !(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("initialCapacity must be positive and fpp within (0, 1)");
+        }
+        this.fpp = fpp;
+        this.stages = new Stage[]{new Stage(initialCapacity, fpp)};
+    }
+
+    public boolean mightContain(long id) {
+        var h1 = mix(id);
+        var h2 = secondHash(h1);
+        for (var stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds {@code id}; ids that already test positive are skipped, so they do not use up capacity.
+     */
+    public synchronized void put(long id) {
+        if (mightContain(id)) {
+            return;
+        }
+        var current = stages[stages.length - 1];
+        if (current.count >= current.capacity) {
+            current = new Stage(current.capacity * GROWTH, current.fpp * TIGHTENING);
+            var grown = Arrays.copyOf(stages, stages.length + 1);
+            grown[grown.length - 1] = current;
+            stages = grown;
+        }
+        var h1 = mix(id);
+        current.put(h1, secondHash(h1));
+        size++;
+    }
+
+    /**
+     * Distinct ids added (ids that tested positive when added are not counted).
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    public long bitSize() {
+        return Arrays.stream(stages).mapToLong(stage -> stage.bitCount).sum();
+    }
+
+    /**
+     * False-positive probability for the current fill: one minus the chance that no stage reports a foreign id.
+     */
+    public synchronized double expectedFpp() {
+        var none = 1.0;
+        for (var stage : stages) {
+            none *= 1 - stage.expectedFpp();
+        }
+        return 1 - none;
+    }
+
+    /**
+     * Upper bound on {@link #expectedFpp()} for any number of ids.
+     */
+    public double fppBound() {
+        return fpp / (1 - TIGHTENING);
+    }
+
+    /**
+     * SplitMix64 finalizer; consecutive ids land on unrelated bits.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Forced odd, so it is never zero and every probe of h1 + i * h2 moves.
+    private static long secondHash(long h1) {
+        return mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    /**
+     * Plain Bloom filter sized for {@code capacity} ids at {@code fpp}, probed by double hashing.
+     */
+    private static final class Stage {
+
+        private final long capacity;
+        private final double fpp;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray words;
+        // Written under the filter's lock only.
+        private long count;
+
+        Stage(long capacity, double fpp) {
+            var bits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            var wordCount = Math.max(1, (bits + 63) >>> 6);
+            if (wordCount > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter stage too large: " + bits + " bits");
+            }
+            this.capacity = capacity;
+            this.fpp = fpp;
+            this.bitCount = wordCount << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.words = new AtomicLongArray((int) wordCount);
+        }
+
+        boolean mightContain(long h1, long h2) {
+            var hash = h1;
+            for (int i = 0; i < hashCount; i++) {
+                var bit = Long.remainderUnsigned(hash, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                hash += h2;
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            var hash = h1;
+            for (int i = 0; i < hashCount; i++) {
+                var bit = Long.remainderUnsigned(hash, bitCount);
+                var index = (int) (bit >>> 6);
+                // Single writer (the filter's lock), so no compare-and-set loop is needed.
+                words.set(index, words.get(index) | 1L << bit);
+                hash += h2;
+            }
+            count++;
+        }
+
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * count / bitCount), hashCount);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.caching.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index for substring search over short strings.
+ * <p>
+ * Strings are normalized (lower case, accents stripped) and every distinct run of three
+ * characters maps to a sorted posting list of ids. A query of three or more characters is
+ * answered by intersecting the posting lists of its trigrams, smallest first, and checking the
+ * survivors against the stored strings, so the result is exactly the ids whose normalized string
+ * contains the normalized query. Shorter queries cannot be answered and return null.
+ * <p>
+ * Reads share a lock; writes are exclusive.
+ */
+public class TrigramIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final long[] NONE = new long[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> values = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexes {@code value} under {@code id}, replacing what was indexed for it before.
+     */
+    public void put(long id, String value) {
+        lock.writeLock().lock();
+        try {
+            putLocked(id, normalize(value));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #put} but keeps an existing entry; for bulk loads racing with live updates.
+     */
+    public boolean putIfAbsent(long id, String value) {
+        var normalized = normalize(value);
+        lock.writeLock().lock();
+        try {
+            if (values.containsKey(id)) {
+                return false;
+            }
+            putLocked(id, normalized);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            var previous = values.remove(id);
+            if (previous != null) {
+                for (var trigram : trigrams(previous)) {
+                    removePosting(trigram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids containing {@code query} in ascending order, or null when the query is shorter
+     * than three characters or matches more than {@code limit} ids
+     */
+    public long[] search(String query, int limit) {
+        var normalized = normalize(query);
+        if (normalized.length() < 3) {
+            return null;
+        }
+        var trigrams = trigrams(normalized);
+        lock.readLock().lock();
+        try {
+            var lists = new Postings[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postings.get(trigrams[i]);
+                if (lists[i] == null) {
+                    return NONE;
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            var result = new long[lists[0].size];
+            var count = 0;
+            candidates:
+            for (int i = 0; i < lists[0].size; i++) {
+                var id = lists[0].ids[i];
+                for (int j = 1; j < lists.length; j++) {
+                    if (lists[j].indexOf(id) < 0) {
+                        continue candidates;
+                    }
+                }
+                // Every trigram present does not mean they are adjacent.
+                if (values.get(id).contains(normalized)) {
+                    if (count == limit) {
+                        return null;
+                    }
+                    result[count++] = id;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return values.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        var decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of a normalized string, each packed into a long (three 16-bit chars).
+     */
+    static long[] trigrams(String normalized) {
+        if (normalized.length() < 3) {
+            return NONE;
+        }
+        var result = new long[normalized.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16) | normalized.charAt(i + 2);
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    private void putLocked(long id, String normalized) {
+        var previous = values.put(id, normalized);
+        if (normalized.equals(previous)) {
+            return;
+        }
+        var added = trigrams(normalized);
+        if (previous != null) {
+            for (var trigram : trigrams(previous)) {
+                if (Arrays.stream(added).noneMatch(t -> t == trigram)) {
+                    removePosting(trigram, id);
+                }
+            }
+        }
+        for (var trigram : added) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(id);
+        }
+    }
+
+    private void removePosting(long trigram, long id) {
+        var list = postings.get(trigram);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(trigram);
+        }
+    }
+
+    /**
+     * Sorted, growable list of ids. Ids are mostly generated in ascending order, so adds are
+     * usually appends.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            var index = size == 0 || ids[size - 1] < id ? -(size + 1) : indexOf(id);
+            if (index >= 0) {
+                return;
+            }
+            var insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            var index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+    }
+}
@@ -1,42 +1,109 @@
 package com.example.caching.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
+
+    static final int MAX_ACTIVITIES = 100;
+    static final Duration ACTIVITY_TTL = Duration.ofDays(7);
+
+    // KEYS[1]: activity list. ARGV: max length, ttl ms, activities...
+    // Push, trim and expire run atomically in one round trip.
+    static final RedisScript<Long> RECORD = RedisScript.of("""
+            local length = redis.call('RPUSH', KEYS[1], unpack(ARGV, 3))
+            redis.call('LTRIM', KEYS[1], -tonumber(ARGV[1]), -1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return length
+            """, Long.class);
+
+    private static final byte[] RECORD_SCRIPT = RECORD.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RECORD_SHA = RECORD.getSha1().getBytes(StandardCharsets.UTF_8);
+
     private final StringRedisTemplate redisTemplate;
 
     public void addUserActivity(String userId, String activity) {
-        if (userId == null || userId.isBlank()) {
-            throw new IllegalArgumentException("userId cannot be null or blank");
-        }
-        if (activity == null || activity.isBlank()) {
-            throw new IllegalArgumentException("activity cannot be null or blank");
+        validateUserId(userId);
+        validateActivity(activity);
+        redisTemplate.execute(RECORD, List.of(key(userId)),
+                String.valueOf(MAX_ACTIVITIES), String.valueOf(ACTIVITY_TTL.toMillis()), activity);
+    }
+
+    /**
+     * Records activities for many users in one pipelined round trip: one script call per user, in
+     * the given order. All entries are validated before anything is written.
+     */
+    public void addUserActivities(Map<String, List<String>> activitiesByUser) {
+        activitiesByUser.forEach((userId, activities) -> {
+            validateUserId(userId);
+            if (activities == null || activities.isEmpty()) {
+                throw new IllegalArgumentException("activities cannot be empty");
+            }
+            activities.forEach(UserService::validateActivity);
+        });
+        if (activitiesByUser.isEmpty()) {
+            return;
         }
-        var key = "user:activities:" + userId;
-        redisTemplate.opsForList().rightPush(key, activity);
-        redisTemplate.opsForList().trim(key, -100, -1);
-        redisTemplate.expire(key, Duration.ofDays(7));
+        var maxActivities = ascii(MAX_ACTIVITIES);
+        var ttlMillis = ascii(ACTIVITY_TTL.toMillis());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            // Runs before the calls below on the same connection, so EVALSHA cannot hit NOSCRIPT.
+            connection.scriptingCommands().scriptLoad(RECORD_SCRIPT);
+            activitiesByUser.forEach((userId, activities) -> {
+                // Older entries would be trimmed right away; don't send them.
+                var kept = activities.subList(Math.max(0, activities.size() - MAX_ACTIVITIES), activities.size());
+                var keysAndArgs = new byte[3 + kept.size()][];
+                keysAndArgs[0] = key(userId).getBytes(StandardCharsets.UTF_8);
+                keysAndArgs[1] = maxActivities;
+                keysAndArgs[2] = ttlMillis;
+                for (int i = 0; i < kept.size(); i++) {
+                    keysAndArgs[3 + i] = kept.get(i).getBytes(StandardCharsets.UTF_8);
+                }
+                connection.scriptingCommands().evalSha(RECORD_SHA, ReturnType.INTEGER, 1, keysAndArgs);
+            });
+            return null;
+        });
     }
 
     public String getOldestUserActivity(String userId) {
-        if (userId == null || userId.isBlank()) {
-            throw new IllegalArgumentException("userId cannot be null or blank");
-        }
-        return redisTemplate.opsForList().leftPop("user:activities:" + userId);
+        validateUserId(userId);
+        return redisTemplate.opsForList().leftPop(key(userId));
     }
 
     public List<String> getUserActivities(String userId) {
+        validateUserId(userId);
+        var activities = redisTemplate.opsForList().range(key(userId), 0, -1);
+        return activities == null ? List.of() : activities;
+    }
+
+    private static String key(String userId) {
+        return "user:activities:" + userId;
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void validateUserId(String userId) {
         if (userId == null || userId.isBlank()) {
             throw new IllegalArgumentException("userId cannot be null or blank");
         }
-        var activities = redisTemplate.opsForList().range("user:activities:" + userId, 0, -1);
-        return activities == null ? List.of() : activities;
+    }
+
+    private static void validateActivity(String activity) {
+        if (activity == null || activity.isBlank()) {
+            throw new IllegalArgumentException("activity cannot be null or blank");
+        }
     }
 }
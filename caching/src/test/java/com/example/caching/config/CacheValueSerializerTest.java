@@ -0,0 +1,134 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import com.example.caching.enums.Category;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheValueSerializerTest {
+
+    private final CacheValueSerializer serializer = new CacheValueSerializer(CacheConfig.jsonSerializer(), 1024);
+
+    @Test
+    void product_shouldRoundTrip_andBeSmallerThanJson() {
+        // Given
+        var product = product(42, "Widget");
+
+        // When
+        var bytes = serializer.serialize(product);
+
+        // Then
+        assertThat(bytes[0]).isEqualTo(CacheValueSerializer.VERSION);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(product);
+        assertThat(bytes.length).isLessThan(CacheConfig.jsonSerializer().serialize(product).length / 3);
+    }
+
+    @Test
+    void product_shouldKeepNullFields() {
+        // Given
+        var product = new Product();
+        product.setProductId(-7L);
+        product.setProductName("Ünïcode ✓");
+
+        // When
+        var result = serializer.deserialize(serializer.serialize(product));
+
+        // Then
+        assertThat(result).isEqualTo(product);
+    }
+
+    @Test
+    void productList_shouldRoundTrip_andCompressLargePages() {
+        // Given
+        var products = new ArrayList<Product>();
+        for (int i = 1; i <= 200; i++) {
+            products.add(product(i, "Widget " + i));
+        }
+
+        // When
+        var bytes = serializer.serialize(products);
+        var uncompressed = new CacheValueSerializer(CacheConfig.jsonSerializer(), 0).serialize(products);
+
+        // Then
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(bytes.length).isLessThan(uncompressed.length);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(products);
+    }
+
+    @Test
+    void emptyList_shouldRoundTrip() {
+        assertThat(serializer.deserialize(serializer.serialize(List.of()))).isEqualTo(List.of());
+    }
+
+    @Test
+    void otherValues_shouldFallBackToTypedJson() {
+        // Given
+        var value = new HashMap<>(Map.of("name", "Widget"));
+
+        // When
+        var result = serializer.deserialize(serializer.serialize(value));
+
+        // Then
+        assertThat(result).isEqualTo(value);
+    }
+
+    @Test
+    void deserialize_shouldTreatJsonWrittenBeforeTheBinaryFormatAsMissing() {
+        // Given a value written by the JSON-only release's untyped serializer
+        var mapper = JsonMapper.builder().addModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        var legacy = new GenericJackson2JsonRedisSerializer(mapper).serialize(product(1, "Widget"));
+
+        // When
+        var result = serializer.deserialize(legacy);
+
+        // Then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    void deserialize_shouldRejectUnknownVersionsAndCorruptValues() {
+        var bytes = serializer.serialize(product(1, "Widget"));
+
+        var future = bytes.clone();
+        future[0] = 2;
+        assertThatThrownBy(() -> serializer.deserialize(future)).isInstanceOf(SerializationException.class);
+
+        var truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThatThrownBy(() -> serializer.deserialize(truncated)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void nullAndEmpty_shouldMapToNull() {
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    private static Product product(long id, String name) {
+        return Product.builder()
+                .productId(id)
+                .productName(name)
+                .category(Category.PRODUCT)
+                .price(new BigDecimal("29.99"))
+                .inStock(100L)
+                .dateOfManufacture(LocalDateTime.of(2026, 1, 2, 9, 59, 1))
+                .updatedAt(LocalDateTime.of(2026, 3, 4, 10, 15, 30, 123_456_789))
+                .vendor("ABC")
+                .build();
+    }
+}
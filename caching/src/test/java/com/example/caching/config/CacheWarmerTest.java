@@ -0,0 +1,109 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import com.example.caching.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private RedisCache redisCache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Test
+    void warm_shouldPageByKeysetAndWriteOnePipelinePerPage() {
+        // Given three products read in pages of two
+        var properties = new CacheWarmerProperties();
+        properties.setPageSize(2);
+        var pageRequest = PageRequest.of(0, 2, Sort.by("productId"));
+        when(productRepository.findByProductIdGreaterThan(Long.MIN_VALUE, pageRequest))
+                .thenReturn(new SliceImpl<>(products(1, 2), pageRequest, true));
+        when(productRepository.findByProductIdGreaterThan(2L, pageRequest))
+                .thenReturn(new SliceImpl<>(products(3, 3), pageRequest, false));
+
+        when(redisCacheManager.getCache(CacheWarmer.CACHE_NAME)).thenReturn(redisCache);
+        when(redisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofHours(1))
+                .serializeValuesWith(SerializationPair.fromSerializer(new CacheValueSerializer(CacheConfig.jsonSerializer(), 1024))));
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        var rows = new CacheWarmer(productRepository, redisCacheManager, redisTemplate, properties).warm();
+
+        // Then
+        assertThat(rows).isEqualTo(3);
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        // Warmed entries get the shorter entry-ttl, not the cache's hour
+        verify(stringCommands).set(eq("product::3".getBytes(StandardCharsets.UTF_8)), any(byte[].class),
+                eq(Expiration.from(Duration.ofMinutes(10))), eq(SetOption.ifAbsent()));
+        verify(stringCommands, times(3)).set(any(byte[].class), any(byte[].class), any(Expiration.class), any(SetOption.class));
+    }
+
+    @Test
+    void warm_shouldStopWhenTheTableIsEmpty() {
+        // Given
+        var properties = new CacheWarmerProperties();
+        when(redisCacheManager.getCache(CacheWarmer.CACHE_NAME)).thenReturn(redisCache);
+        when(redisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        when(productRepository.findByProductIdGreaterThan(eq(Long.MIN_VALUE), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // When
+        var rows = new CacheWarmer(productRepository, redisCacheManager, redisTemplate, properties).warm();
+
+        // Then
+        assertThat(rows).isZero();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static List<Product> products(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(id -> Product.builder().productId(id).productName("Product " + id).build())
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.caching.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimate_shouldNeverUndercount_andStayCloseForHotKeys() {
+        // Given 10,000 cold keys read once and one hot key read 100 times
+        var sketch = new CountMinSketch(4_096, 1_000_000);
+        for (long key = 0; key < 10_000; key++) {
+            sketch.increment(key);
+        }
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(-1L);
+        }
+
+        // Then
+        assertThat(sketch.estimate(-1L)).isBetween(100, 110);
+        var overcounted = 0;
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(sketch.estimate(key)).isGreaterThanOrEqualTo(1);
+            if (sketch.estimate(key) > 3) {
+                overcounted++;
+            }
+        }
+        assertThat(overcounted).isLessThan(100);
+    }
+
+    @Test
+    void increment_shouldHalveCountsAfterSampleSize() {
+        // Given
+        var sketch = new CountMinSketch(64, 10);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+
+        // Then
+        assertThat(sketch.estimate("hot")).isEqualTo(5);
+        assertThat(sketch.increment("hot")).isEqualTo(6);
+    }
+
+    @Test
+    void increment_shouldCountConcurrentReadsWithoutLocking() throws Exception {
+        // Given
+        var sketch = new CountMinSketch(1_024, Integer.MAX_VALUE);
+        Callable<Void> reads = () -> {
+            for (int i = 0; i < 10_000; i++) {
+                sketch.increment("hot");
+            }
+            return null;
+        };
+
+        // When
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            executor.invokeAll(Collections.nCopies(8, reads));
+        }
+
+        // Then only the odd racing increment is lost
+        assertThat(sketch.estimate("hot")).isBetween(72_000, 80_000);
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSizes() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedCacheTest {
+
+    private static final CacheValueSerializer SERIALIZER = new CacheValueSerializer(CacheConfig.jsonSerializer(), 1024);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void get_shouldRecordHitsAndMissesPerCache() {
+        // Given
+        var cache = new InstrumentedCache(new ConcurrentMapCache("product"), registry);
+        cache.put(1L, "one");
+
+        // When
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L, String.class);
+
+        // Then
+        assertThat(registry.get("cache.redis.get").tags("cache", "product", "result", "hit").timer().count()).isEqualTo(1);
+        assertThat(registry.get("cache.redis.get").tags("cache", "product", "result", "miss").timer().count()).isEqualTo(2);
+        assertThat(registry.get("cache.redis.put").tag("cache", "product").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getWithLoader_shouldCountMissOnlyWhenLoaderRuns() {
+        // Given
+        var cache = new InstrumentedCache(new ConcurrentMapCache("product"), registry);
+
+        // When
+        cache.get(1L, () -> "one");
+        cache.get(1L, () -> "again");
+
+        // Then
+        assertThat(registry.get("cache.redis.get").tags("result", "miss").timer().count()).isEqualTo(1);
+        assertThat(registry.get("cache.redis.get").tags("result", "hit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void put_shouldRecordPayloadSizeFromTheCachesOwnEncode() {
+        // Given
+        var encodes = new AtomicInteger();
+        var cache = new InstrumentedCache(encodingCache(encodes), registry);
+        var product = Product.builder().productId(1L).productName("Widget").build();
+
+        // When
+        cache.put(1L, product);
+
+        // Then
+        var payload = registry.get("cache.redis.payload").tag("cache", "product").summary();
+        assertThat(payload.count()).isEqualTo(1);
+        assertThat(payload.totalAmount()).isEqualTo(SERIALIZER.serialize(product).length);
+        assertThat(encodes).hasValue(1);
+    }
+
+    @Test
+    void getWithLoader_shouldRecordPayloadSizeOfTheLoadedValue() {
+        // Given
+        var cache = new InstrumentedCache(encodingCache(new AtomicInteger()), registry);
+
+        // When
+        cache.get(1L, () -> "one");
+        cache.get(1L, () -> "again");
+
+        // Then
+        var payload = registry.get("cache.redis.payload").tag("cache", "product").summary();
+        assertThat(payload.count()).isEqualTo(1);
+        assertThat(payload.totalAmount()).isEqualTo(SERIALIZER.serialize("one").length);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stats_shouldSummarizeMetricsWithoutTouchingTheCache() {
+        // Given
+        var cache = new InstrumentedCache(new ConcurrentMapCache("product"), registry);
+        cache.put(1L, "one");
+        cache.get(1L);
+        cache.get(2L);
+
+        // When
+        var metrics = (Map<String, Object>) cache.stats().get("metrics");
+
+        // Then
+        assertThat(metrics).containsEntry("gets", 2L).containsEntry("hits", 1L).containsEntry("misses", 1L)
+                .containsEntry("hitRatio", 0.5);
+        assertThat((Map<String, Object>) metrics.get("hitLatencyMs")).containsKeys("count", "mean", "p50", "p95", "p99", "max");
+    }
+
+    /**
+     * Stores values encoded, the way RedisCache does, counting the encodes.
+     */
+    private static Cache encodingCache(AtomicInteger encodes) {
+        return new ConcurrentMapCache("product") {
+            @Override
+            protected Object toStoreValue(Object userValue) {
+                encodes.incrementAndGet();
+                return SERIALIZER.serialize(userValue);
+            }
+
+            @Override
+            protected Object fromStoreValue(Object storeValue) {
+                return SERIALIZER.deserialize((byte[]) storeValue);
+            }
+        };
+    }
+}
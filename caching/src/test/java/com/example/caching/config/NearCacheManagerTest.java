@@ -0,0 +1,107 @@
+package com.example.caching.config;
+
+import com.example.caching.sender.RedisPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheManagerTest {
+
+    @Mock
+    private RedisPublisher redisPublisher;
+
+    private ConcurrentMapCacheManager l2Manager;
+    private NearCacheManager nearCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        var spec = new NearCacheProperties.Spec();
+        spec.setMaximumSize(100);
+        spec.setTtl(Duration.ofMinutes(1));
+        var properties = new NearCacheProperties();
+        properties.getCaches().put("product", spec);
+
+        l2Manager = new ConcurrentMapCacheManager();
+        nearCacheManager = new NearCacheManager(l2Manager, properties, redisPublisher, List.of());
+    }
+
+    @Test
+    void getCache_shouldWrapOnlyConfiguredCaches() {
+        assertThat(nearCacheManager.getCache("product")).isInstanceOf(NearCache.class);
+        assertThat(nearCacheManager.getCache("product_list")).isNotInstanceOf(NearCache.class);
+    }
+
+    @Test
+    void get_shouldServeRepeatedReadsFromL1() {
+        // Given
+        var cache = (NearCache) nearCacheManager.getCache("product");
+        l2Manager.getCache("product").put(1L, "widget");
+
+        // When
+        cache.get(1L);
+        cache.get(1L);
+        l2Manager.getCache("product").evict(1L);
+
+        // Then
+        assertThat(cache.get(1L).get()).isEqualTo("widget");
+        assertThat(cache.stats())
+                .containsEntry("l1Hits", 2L)
+                .containsEntry("l2Hits", 1L)
+                .containsEntry("misses", 0L);
+    }
+
+    @Test
+    void evict_shouldPublishInvalidationThatOtherInstancesApply() {
+        // Given
+        var cache = (NearCache) nearCacheManager.getCache("product");
+        cache.put(1L, "widget");
+        var message = ArgumentCaptor.forClass(String.class);
+        verify(redisPublisher).publish(eq("cache-invalidation"), message.capture());
+
+        // When: the same message arrives at another instance that has the entry in L1
+        var otherL2 = new ConcurrentMapCacheManager();
+        var other = new NearCacheManager(otherL2, propertiesWithProduct(), redisPublisher, List.of());
+        var otherCache = (NearCache) other.getCache("product");
+        otherL2.getCache("product").put(1L, "widget");
+        otherCache.get(1L);
+        otherL2.getCache("product").put(1L, "widget v2");
+        other.onInvalidation(message.getValue());
+
+        // Then
+        assertThat(otherCache.get(1L).get()).isEqualTo("widget v2");
+    }
+
+    @Test
+    void onInvalidation_shouldIgnoreOwnMessages() {
+        // Given
+        var cache = (NearCache) nearCacheManager.getCache("product");
+        cache.put("1", "widget");
+        var message = ArgumentCaptor.forClass(String.class);
+        verify(redisPublisher).publish(eq("cache-invalidation"), message.capture());
+        l2Manager.getCache("product").clear();
+
+        // When
+        nearCacheManager.onInvalidation(message.getValue());
+
+        // Then
+        assertThat(cache.get(1L).get()).isEqualTo("widget");
+    }
+
+    private static NearCacheProperties propertiesWithProduct() {
+        var properties = new NearCacheProperties();
+        properties.getCaches().put("product", new NearCacheProperties.Spec());
+        return properties;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductListIndexTest {
+
+    @Mock
+    private CacheTagIndex tagIndex;
+
+    @Mock
+    private ObjectProvider<CacheManager> cacheManagerProvider;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Test
+    void decorate_shouldTagListsWithQueriedAndContainedNames() {
+        // Given
+        var index = new ProductListIndex(tagIndex, cacheManagerProvider);
+        var cache = index.decorate(new ConcurrentMapCache(ProductListIndex.CACHE_NAME));
+
+        // When
+        cache.put("widget", List.of(Product.builder().productId(1L).productName("Widget").build()));
+
+        // Then
+        verify(tagIndex).tag(eq(ProductListIndex.CACHE_NAME), eq("widget"), eq(Set.of("name:widget")), eq(Duration.ZERO));
+        assertThat(cache.get("widget")).isNotNull();
+    }
+
+    @Test
+    void decorate_shouldLeaveOtherCachesAlone() {
+        var index = new ProductListIndex(tagIndex, cacheManagerProvider);
+        var cache = new ConcurrentMapCache("product");
+
+        assertThat(index.decorate(cache)).isSameAs(cache);
+    }
+
+    @Test
+    void evictNames_shouldEvictEachDistinctNameOutsideTransactions() {
+        // Given
+        var cache = new ConcurrentMapCache(ProductListIndex.CACHE_NAME);
+        when(cacheManagerProvider.getObject()).thenReturn(cacheManager);
+        when(cacheManager.getCache(ProductListIndex.CACHE_NAME)).thenReturn(cache);
+        var index = new ProductListIndex(tagIndex, cacheManagerProvider);
+
+        // When
+        index.evictNames("Old Name", null, "New Name", "New Name");
+
+        // Then
+        verify(tagIndex).evict(cache, "name:old name");
+        verify(tagIndex).evict(cache, "name:new name");
+        verifyNoMoreInteractions(tagIndex);
+    }
+}
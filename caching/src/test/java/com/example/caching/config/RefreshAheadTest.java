@@ -0,0 +1,120 @@
+package com.example.caching.config;
+
+import com.example.caching.entity.Product;
+import com.example.caching.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshAheadTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private ObjectProvider<CacheManager> cacheManagerProvider;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Test
+    void dueForRefresh_shouldPickKeysInsideTheWindowSoonestFirst() {
+        var keys = List.<Object>of(1L, 2L, 3L, 4L, 5L);
+        var ttls = List.<Object>of(200_000L, -2L, 10_000L, -1L, 3_600_000L);
+
+        assertThat(RefreshAhead.dueForRefresh(keys, ttls, 300_000)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void decorate_shouldOnlyTrackTheProductCache() {
+        var refreshAhead = refreshAhead(new RefreshAheadProperties());
+
+        assertThat(refreshAhead.decorate(new ConcurrentMapCache("product"))).isInstanceOf(AccessTrackingCache.class);
+        var other = new ConcurrentMapCache("product_list");
+        assertThat(refreshAhead.decorate(other)).isSameAs(other);
+    }
+
+    @Test
+    void refreshDueKeys_shouldReloadHotKeysCloseToExpiry_withinTheRateBudget() {
+        // Given keys 1 and 2 are hot and both expire within the window, with a budget of one reload per pass
+        var properties = new RefreshAheadProperties();
+        properties.setHotThreshold(3);
+        properties.setInterval(Duration.ofSeconds(1));
+        properties.setMaxRefreshesPerSecond(1);
+        var refreshAhead = refreshAhead(properties);
+        for (int i = 0; i < 3; i++) {
+            refreshAhead.recordAccess(1L);
+            refreshAhead.recordAccess(2L);
+        }
+        refreshAhead.recordAccess(3L);
+
+        var cache = new ConcurrentMapCache("product");
+        var product = Product.builder().productId(2L).productName("Widget").build();
+        when(redisCacheManager.getCacheConfigurations()).thenReturn(Map.of("product", RedisCacheConfiguration.defaultCacheConfig()));
+        var ttls = Map.of("product::1", 60_000L, "product::2", 5_000L);
+        var pipelined = new ArrayList<Object>();
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.pTtl(any(byte[].class))).thenAnswer(invocation -> {
+            pipelined.add(ttls.get(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)));
+            return null;
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return pipelined;
+        });
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("product::2#refresh", "1", properties.getRefreshWindow())).thenReturn(true);
+        when(cacheManagerProvider.getObject()).thenReturn(cacheManager);
+        when(cacheManager.getCache("product")).thenReturn(cache);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product));
+
+        // When
+        refreshAhead.refreshDueKeys();
+
+        // Then only the soonest-expiring key is reloaded
+        assertThat(cache.get(2L, Product.class)).isEqualTo(product);
+        verify(productRepository, never()).findById(1L);
+    }
+
+    private RefreshAhead refreshAhead(RefreshAheadProperties properties) {
+        return new RefreshAhead(properties, productRepository, redisTemplate, redisCacheManager, cacheManagerProvider);
+    }
+}
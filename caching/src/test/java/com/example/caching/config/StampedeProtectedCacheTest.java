@@ -0,0 +1,119 @@
+package com.example.caching.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StampedeProtectedCacheTest {
+
+    @Test
+    void shouldRefreshEarly_shouldNeverTrigger_withoutCostOrExpiry() {
+        assertThat(StampedeProtectedCache.shouldRefreshEarly(1_000, -1, 1.0, 1e-9)).isFalse();
+        assertThat(StampedeProtectedCache.shouldRefreshEarly(-1, 100, 1.0, 1e-9)).isFalse();
+    }
+
+    @Test
+    void shouldRefreshEarly_shouldBecomeLikelierAsTtlRunsOut() {
+        // Given a key that takes 100 ms to recompute
+        var farFromExpiry = refreshRate(60_000, 100);
+        var nearExpiry = refreshRate(100, 100);
+
+        // Then
+        assertThat(farFromExpiry).isZero();
+        assertThat(nearExpiry).isBetween(0.3, 0.45); // P = e^-1
+    }
+
+    @Test
+    void shouldRefreshEarly_shouldRefreshExpensiveKeysEarlier() {
+        assertThat(refreshRate(1_000, 500)).isGreaterThan(refreshRate(1_000, 50));
+    }
+
+    @Test
+    void decorate_shouldProtectProductByDefault() {
+        // Given the default settings
+        var protection = new StampedeProtection(redisTemplate(), new StampedeProperties());
+
+        // Then product gets the null-skipping load path even without caching.stampede.caches
+        assertThat(protection.decorate(redisCache())).isInstanceOf(StampedeProtectedCache.class);
+    }
+
+    @Test
+    void get_shouldReleaseLock_whenLoaderFindsNothing() {
+        // Given a miss on a missing id: this instance takes the recompute lock
+        var redisTemplate = redisTemplate();
+        var cache = new StampedeProtectedCache(redisCache(), redisTemplate, new StampedeProperties());
+
+        // When
+        var value = cache.get(1L, () -> null);
+
+        // Then the lock is released instead of expiring after lock-ttl
+        assertThat(value).isNull();
+        verify(redisTemplate, times(1)).execute(same(StampedeProtectedCache.RELEASE), any(RedisSerializer.class), isNull(),
+                eq(List.of("product::1#lock")), any());
+    }
+
+    @Test
+    void get_shouldReleaseLock_whenLoaderFails() {
+        // Given
+        var redisTemplate = redisTemplate();
+        var cache = new StampedeProtectedCache(redisCache(), redisTemplate, new StampedeProperties());
+
+        // When / Then
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+        verify(redisTemplate, times(1)).execute(same(StampedeProtectedCache.RELEASE), any(RedisSerializer.class), isNull(),
+                eq(List.of("product::1#lock")), any());
+    }
+
+    @Test
+    void evict_shouldDeleteValueCostAndLock() {
+        // Given
+        var redisTemplate = redisTemplate();
+        var cache = new StampedeProtectedCache(redisCache(), redisTemplate, new StampedeProperties());
+
+        // When
+        cache.evict(1L);
+
+        // Then
+        verify(redisTemplate).delete(List.of("product::1", "product::1#delta", "product::1#lock"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StringRedisTemplate redisTemplate() {
+        var redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        // Every READ script call returns null: no value, so each get is a miss.
+        return redisTemplate;
+    }
+
+    private static RedisCache redisCache() {
+        var redisCache = mock(RedisCache.class);
+        when(redisCache.getName()).thenReturn("product");
+        when(redisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        return redisCache;
+    }
+
+    private static double refreshRate(long ttlMillis, long deltaMillis) {
+        var samples = 10_000;
+        var refreshed = IntStream.rangeClosed(1, samples)
+                .filter(i -> StampedeProtectedCache.shouldRefreshEarly(ttlMillis, deltaMillis, 1.0, (double) i / samples))
+                .count();
+        return (double) refreshed / samples;
+    }
+}
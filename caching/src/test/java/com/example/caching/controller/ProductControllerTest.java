@@ -5,6 +5,7 @@ import com.example.caching.dto.ProductResponse;
 import com.example.caching.entity.Product;
 import com.example.caching.enums.Category;
 import com.example.caching.mapper.ProductMapper;
+import com.example.caching.service.ProductCursor;
 import com.example.caching.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -144,6 +146,68 @@ class ProductControllerTest {
         verify(productService, times(1)).findAll(any());
     }
 
+    @Test
+    void listByCursor_shouldReturnNextCursor_withoutCounting() throws Exception {
+        // Given
+        when(productService.findAllAfter(isNull(), eq(20)))
+                .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.ofSize(20), true));
+        when(productMapper.toResponse(testProduct)).thenReturn(testProductResponse);
+
+        // When / Then
+        mockMvc.perform(get("/api/products/cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].productName").value("Test Product"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(ProductCursor.of(testProduct).encode()))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(productService, never()).countProducts(any());
+    }
+
+    @Test
+    void listByCursor_shouldDecodeCursor_andIncludeTotal_whenRequested() throws Exception {
+        // Given
+        var cursor = ProductCursor.of(testProduct);
+        when(productService.findAllAfter(cursor, 10))
+                .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.ofSize(10), false));
+        when(productService.countProducts(null)).thenReturn(11L);
+        when(productMapper.toResponse(testProduct)).thenReturn(testProductResponse);
+
+        // When / Then
+        mockMvc.perform(get("/api/products/cursor")
+                        .param("cursor", cursor.encode())
+                        .param("size", "10")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(11));
+    }
+
+    @Test
+    void listByCursor_shouldReturn400_whenCursorIsInvalid() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/products/cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void searchByNameWithCursor_shouldReturnProducts() throws Exception {
+        // Given
+        when(productService.findByProductNameAfter(eq("Test"), isNull(), eq(20)))
+                .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.ofSize(20), false));
+        when(productMapper.toResponse(testProduct)).thenReturn(testProductResponse);
+
+        // When / Then
+        mockMvc.perform(get("/api/products/search/cursor")
+                        .param("name", "Test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].productName").value("Test Product"));
+    }
+
     @Test
     void create_shouldCreateProduct() throws Exception {
         // Given
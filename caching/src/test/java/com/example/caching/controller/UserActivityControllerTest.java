@@ -1,16 +1,22 @@
 package com.example.caching.controller;
 
+import com.example.caching.dto.UserActivityRequest;
 import com.example.caching.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -20,6 +26,9 @@ class UserActivityControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private UserService userService;
 
@@ -34,4 +43,33 @@ class UserActivityControllerTest {
 
         verify(userService, times(1)).getUserActivities("user123");
     }
+
+    @Test
+    void addActivities_shouldGroupActivitiesByUserInOrder() throws Exception {
+        var requests = List.of(
+                new UserActivityRequest("user1", "Logged in"),
+                new UserActivityRequest("user2", "Logged in"),
+                new UserActivityRequest("user1", "Viewed dashboard"));
+
+        mockMvc.perform(post("/api/users/activities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk());
+
+        verify(userService).addUserActivities(Map.of(
+                "user1", List.of("Logged in", "Viewed dashboard"),
+                "user2", List.of("Logged in")));
+    }
+
+    @Test
+    void addActivities_shouldReturnBadRequest_whenAnEntryIsInvalid() throws Exception {
+        var requests = List.of(new UserActivityRequest("user1", "Logged in"), new UserActivityRequest("user2", " "));
+
+        mockMvc.perform(post("/api/users/activities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).addUserActivities(any());
+    }
 }
@@ -0,0 +1,167 @@
+package com.example.caching.service;
+
+import com.example.caching.repository.ProductIdView;
+import com.example.caching.repository.ProductRepository;
+import com.example.caching.sender.RedisPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIdGuardTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisPublisher redisPublisher;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void mightExist_shouldPassEveryIdUntilTheFilterIsBuilt() {
+        // Given
+        var guard = guard();
+        stubIds(1L, 2L, 1_000L);
+
+        // Then
+        assertThat(guard.mightExist(500L)).isTrue();
+
+        // When
+        guard.rebuild();
+
+        // Then
+        assertThat(guard.mightExist(1L)).isTrue();
+        assertThat(guard.mightExist(500L)).isFalse();
+        assertThat(guard.isKnownMissing(500L)).isTrue();
+        assertThat(saved("filter")).isEqualTo(1);
+    }
+
+    @Test
+    void mightExist_shouldPassIdsAboveTheLastBuild() {
+        // Given a row inserted after the build, without this instance hearing about it
+        var guard = guard();
+        stubIds(1L, 2L, 1_000L);
+        guard.rebuild();
+
+        // Then
+        assertThat(guard.mightExist(1_001L)).isTrue();
+        assertThat(guard.isKnownMissing(1_001L)).isFalse();
+    }
+
+    @Test
+    void recordMissing_shouldAnswerFromNegativeCache_andCountFalsePositive() {
+        // Given
+        var guard = guard();
+        stubIds(1L);
+        guard.rebuild();
+
+        // When the filter lets an id through and the database has no row
+        guard.recordMissing(1L);
+
+        // Then
+        assertThat(guard.mightExist(1L)).isFalse();
+        assertThat(saved("negative-cache")).isEqualTo(1);
+        assertThat(registry.get("product.id.guard.false.positives").counter().count()).isEqualTo(1);
+        assertThat(registry.get("product.id.guard.false.positive.rate").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void recordMissing_shouldNotCountIdsTheFilterCouldNotRuleOutAsFalsePositives() {
+        // Given
+        var guard = guard();
+        stubIds(1L, 2L, 1_000L);
+        guard.rebuild();
+        guard.remove(2L);
+
+        // When a scraper walks past the highest id and a deleted id is looked up again
+        guard.recordMissing(1_001L);
+        guard.recordMissing(1_002L);
+        guard.recordMissing(2L);
+
+        // Then
+        assertThat(registry.get("product.id.guard.false.positives").counter().count()).isZero();
+        assertThat(registry.get("product.id.guard.unchecked.misses").counter().count()).isEqualTo(3);
+        assertThat(registry.get("product.id.guard.false.positive.rate").gauge().value()).isZero();
+    }
+
+    @Test
+    void add_shouldAdmitIdAndPublishIt() {
+        // Given
+        var guard = guard();
+        stubIds(1L);
+        guard.rebuild();
+        guard.recordMissing(7L);
+
+        // When
+        guard.add(7L);
+
+        // Then
+        assertThat(guard.mightExist(7L)).isTrue();
+        var message = ArgumentCaptor.forClass(String.class);
+        verify(redisPublisher).publish(eq("product-id-guard"), message.capture());
+        assertThat(message.getValue()).endsWith("|put|7");
+
+        // And the instance ignores its own message
+        guard.onMessage(message.getValue().replace("|put|", "|remove|"));
+        assertThat(guard.mightExist(7L)).isTrue();
+    }
+
+    @Test
+    void onMessage_shouldApplyUpdatesFromOtherInstances() {
+        // Given
+        var guard = guard();
+        stubIds(1L, 100L);
+        guard.rebuild();
+
+        // When
+        guard.onMessage("other-instance|put|9");
+        guard.onMessage("other-instance|remove|1");
+
+        // Then
+        assertThat(guard.mightExist(9L)).isTrue();
+        assertThat(guard.mightExist(1L)).isFalse();
+    }
+
+    @Test
+    void rebuild_shouldKeepIdsAddedWhileItRuns() {
+        // Given a save commits while the rebuild is reading ids
+        var guard = guard();
+        when(productRepository.findIdsByProductIdGreaterThan(eq(Long.MIN_VALUE), any())).thenAnswer(invocation -> {
+            guard.add(5L);
+            return new SliceImpl<>(List.<ProductIdView>of(() -> 1L, () -> 10L));
+        });
+
+        // When
+        guard.rebuild();
+
+        // Then
+        assertThat(guard.mightExist(5L)).isTrue();
+        assertThat(guard.mightExist(1L)).isTrue();
+    }
+
+    private ProductIdGuard guard() {
+        return new ProductIdGuard(productRepository, redisPublisher, new ProductIdGuardProperties(), registry);
+    }
+
+    private void stubIds(Long... ids) {
+        var rows = Arrays.stream(ids).map(id -> (ProductIdView) () -> id).toList();
+        when(productRepository.findIdsByProductIdGreaterThan(eq(Long.MIN_VALUE), any())).thenReturn(new SliceImpl<>(rows));
+    }
+
+    private double saved(String reason) {
+        return registry.get("product.id.guard.queries.saved").tag("reason", reason).counter().count();
+    }
+}
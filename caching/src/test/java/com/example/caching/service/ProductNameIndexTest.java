@@ -0,0 +1,118 @@
+package com.example.caching.service;
+
+import com.example.caching.repository.ProductNameView;
+import com.example.caching.repository.ProductRepository;
+import com.example.caching.sender.RedisPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisPublisher redisPublisher;
+
+    @Test
+    void candidates_shouldBeEmptyUntilTheIndexIsBuilt() {
+        // Given
+        var index = new ProductNameIndex(productRepository, redisPublisher, new ProductNameIndexProperties());
+        when(productRepository.findNamesByProductIdGreaterThan(eq(Long.MIN_VALUE), any()))
+                .thenReturn(new SliceImpl<>(List.of(view(1L, "Steel Widget"), view(2L, "Gadget"))));
+
+        // Then
+        assertThat(index.candidates("widget")).isEmpty();
+
+        // When
+        index.build();
+
+        // Then
+        assertThat(index.candidates("widget")).contains(List.of(1L));
+        assertThat(index.candidates("wi")).isEmpty();
+    }
+
+    @Test
+    void build_shouldNotRestoreProductsRemovedMeanwhile() {
+        // Given a removal from another instance arrives after the build read the row
+        var index = new ProductNameIndex(productRepository, redisPublisher, new ProductNameIndexProperties());
+        when(productRepository.findNamesByProductIdGreaterThan(eq(Long.MIN_VALUE), any())).thenAnswer(invocation -> {
+            index.onMessage("other-instance|remove|1");
+            return new SliceImpl<>(List.of(view(1L, "Steel Widget")));
+        });
+
+        // When
+        index.build();
+
+        // Then
+        assertThat(index.candidates("widget")).contains(List.of());
+    }
+
+    @Test
+    void build_shouldReplaceTheIndex_soMissedUpdatesAreRepaired() {
+        // Given an index built while the table held product 1
+        var index = new ProductNameIndex(productRepository, redisPublisher, new ProductNameIndexProperties());
+        when(productRepository.findNamesByProductIdGreaterThan(eq(Long.MIN_VALUE), any()))
+                .thenReturn(new SliceImpl<>(List.of(view(1L, "Steel Widget"))))
+                .thenReturn(new SliceImpl<>(List.of(view(2L, "Wooden Widget"))));
+        index.build();
+
+        // When product 1 is deleted and 2 inserted without this instance hearing about it, and the index is rebuilt
+        index.build();
+
+        // Then
+        assertThat(index.candidates("widget")).contains(List.of(2L));
+    }
+
+    @Test
+    void indexName_shouldUpdateLocallyAndPublish_andIgnoreItsOwnMessages() {
+        // Given
+        var properties = new ProductNameIndexProperties();
+        var index = new ProductNameIndex(productRepository, redisPublisher, properties);
+        when(productRepository.findNamesByProductIdGreaterThan(eq(Long.MIN_VALUE), any())).thenReturn(new SliceImpl<>(List.of()));
+        index.build();
+
+        // When
+        index.indexName(7L, "Widget | Pro");
+        index.onMessage("other-instance|put|8|Widget Max");
+
+        // Then
+        assertThat(index.candidates("widget")).contains(List.of(7L, 8L));
+        var published = ArgumentCaptor.forClass(String.class);
+        verify(redisPublisher).publish(eq(properties.getChannel()), published.capture());
+        assertThat(published.getValue()).endsWith("|put|7|Widget | Pro");
+
+        // When its own removal comes back over the channel
+        var origin = published.getValue().substring(0, published.getValue().indexOf('|'));
+        index.onMessage(origin + "|remove|7");
+
+        // Then
+        assertThat(index.candidates("widget")).contains(List.of(7L, 8L));
+    }
+
+    private static ProductNameView view(Long id, String name) {
+        return new ProductNameView() {
+            @Override
+            public Long getProductId() {
+                return id;
+            }
+
+            @Override
+            public String getProductName() {
+                return name;
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.caching.service;
 
+import com.example.caching.config.ProductListIndex;
 import com.example.caching.entity.Product;
 import com.example.caching.enums.Category;
 import com.example.caching.repository.ProductRepository;
@@ -12,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
@@ -30,6 +32,15 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductListIndex productListIndex;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private ProductIdGuard productIdGuard;
+
     @InjectMocks
     private ProductService productService;
 
@@ -75,6 +86,20 @@ class ProductServiceTest {
         // Then
         assertThat(result).isEmpty();
         verify(productRepository, times(1)).findById(999L);
+        verify(productIdGuard, times(1)).recordMissing(999L);
+    }
+
+    @Test
+    void findById_shouldSkipTheDatabase_whenGuardKnowsIdIsMissing() {
+        // Given
+        when(productIdGuard.isKnownMissing(999L)).thenReturn(true);
+
+        // When
+        var result = productService.findById(999L);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -109,6 +134,36 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findByProductNameContainingIgnoreCase("Test", pageable);
     }
 
+    @Test
+    void findByProductName_shouldFetchIndexCandidatesByPrimaryKey() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(productNameIndex.candidates("Test")).thenReturn(Optional.of(List.of(1L)));
+        when(productRepository.findByProductIdInAndProductNameContainingIgnoreCase(List.of(1L), "Test", pageable))
+                .thenReturn(new PageImpl<>(List.of(testProduct), pageable, 1));
+
+        // When
+        var result = productService.findByProductName("Test", pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testProduct);
+        verify(productRepository, never()).findByProductNameContainingIgnoreCase(any(), any());
+    }
+
+    @Test
+    void findByProductName_shouldSkipTheDatabase_whenIndexHasNoCandidates() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(productNameIndex.candidates("Missing")).thenReturn(Optional.of(List.of()));
+
+        // When
+        var result = productService.findByProductName("Missing", pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isZero();
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void findAll_shouldReturnPage() {
         // Given
@@ -124,6 +179,70 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findAll(pageable);
     }
 
+    @Test
+    void findAllAfter_shouldStartAtNewestRow_whenCursorIsNull() {
+        // Given
+        when(productRepository.findPageAfter(any(), eq(Long.MAX_VALUE), eq(PageRequest.ofSize(20))))
+                .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.ofSize(20), false));
+
+        // When
+        var result = productService.findAllAfter(null, 20);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testProduct);
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void findAllAfter_shouldContinueAfterCursor() {
+        // Given
+        var cursor = new ProductCursor(LocalDateTime.of(2026, 1, 1, 10, 0), 7L);
+        when(productRepository.findPageAfter(cursor.updatedAt(), 7L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.ofSize(20), true));
+
+        // When
+        var result = productService.findAllAfter(cursor, 20);
+
+        // Then
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void findByProductNameAfter_shouldPageOverIndexCandidates_withEscapedPattern() {
+        // Given
+        var cursor = new ProductCursor(LocalDateTime.of(2026, 1, 1, 10, 0), 7L);
+        when(productNameIndex.candidates("50%_off")).thenReturn(Optional.of(List.of(1L)));
+        when(productRepository.findByIdsAndNamePageAfter(List.of(1L), "%50\\%\\_off%", cursor.updatedAt(), 7L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.ofSize(20), false));
+
+        // When
+        var result = productService.findByProductNameAfter("50%_off", cursor, 20);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testProduct);
+        verify(productRepository, never()).findByNamePageAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void countProducts_shouldCacheTotals() {
+        // Given
+        when(productNameIndex.candidates("Test")).thenReturn(Optional.empty());
+        when(productRepository.countByProductNameContainingIgnoreCase("Test")).thenReturn(3L);
+        when(productRepository.count()).thenReturn(10L);
+
+        // When
+        productService.countProducts("Test");
+        var byName = productService.countProducts("Test");
+        productService.countProducts(null);
+        var all = productService.countProducts(null);
+
+        // Then
+        assertThat(byName).isEqualTo(3L);
+        assertThat(all).isEqualTo(10L);
+        verify(productRepository, times(1)).countByProductNameContainingIgnoreCase("Test");
+        verify(productRepository, times(1)).count();
+    }
+
     @Test
     void save_shouldSaveProduct() {
         // Given
@@ -160,6 +279,36 @@ class ProductServiceTest {
         verify(productRepository, times(1)).save(testProduct);
     }
 
+    @Test
+    void save_shouldEvictListsForOldAndNewName_whenProductIsRenamed() {
+        // Given
+        var stored = testProduct.toBuilder().productName("Old Name").build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+        // When
+        productService.save(testProduct);
+
+        // Then
+        verify(productListIndex, times(1)).evictNames("Old Name", "Test Product");
+        verify(productNameIndex, times(1)).indexName(1L, "Test Product");
+    }
+
+    @Test
+    void save_shouldEvictListsForNameOnly_whenProductIsNew() {
+        // Given
+        var newProduct = testProduct.toBuilder().productId(null).build();
+        when(productRepository.save(newProduct)).thenReturn(testProduct);
+
+        // When
+        productService.save(newProduct);
+
+        // Then
+        verify(productRepository, never()).findById(any());
+        verify(productListIndex, times(1)).evictNames(null, "Test Product");
+        verify(productIdGuard, times(1)).add(1L);
+    }
+
     @Test
     void delete_shouldDeleteProduct() {
         // When
@@ -167,5 +316,8 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository, times(1)).delete(testProduct);
+        verify(productListIndex, times(1)).evictNames("Test Product");
+        verify(productNameIndex, times(1)).remove(1L);
+        verify(productIdGuard, times(1)).remove(1L);
     }
 }
@@ -0,0 +1,58 @@
+package com.example.caching.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void mightContain_shouldReportEveryAddedId() {
+        // Given
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // When
+        LongStream.rangeClosed(1, 10_000).forEach(filter::put);
+
+        // Then
+        assertThat(LongStream.rangeClosed(1, 10_000).allMatch(filter::mightContain)).isTrue();
+    }
+
+    @Test
+    void put_shouldAddStagesAndKeepFalsePositivesWithinBound() {
+        // Given
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // When
+        LongStream.rangeClosed(1, 20_000).forEach(filter::put);
+
+        // Then
+        var falsePositives = LongStream.rangeClosed(1_000_001, 1_100_000).filter(filter::mightContain).count();
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        assertThat(filter.expectedFpp()).isLessThanOrEqualTo(filter.fppBound());
+        assertThat(falsePositives / 100_000.0).isLessThan(filter.fppBound());
+    }
+
+    @Test
+    void put_shouldNotCountIdsAlreadyPresent() {
+        // Given
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // When
+        filter.put(42);
+        filter.put(42);
+
+        // Then
+        assertThat(filter.size()).isEqualTo(1);
+        assertThat(filter.mightContain(43)).isFalse();
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(1_000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.caching.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    @Test
+    void search_shouldMatchSubstringsIgnoringCaseAndAccents() {
+        // Given
+        var index = new TrigramIndex();
+        index.put(1, "Steel Widget");
+        index.put(2, "Wooden widget pro");
+        index.put(3, "Crème Brûlée");
+
+        // Then
+        assertThat(index.search("WIDGET", 100)).containsExactly(1, 2);
+        assertThat(index.search("creme", 100)).containsExactly(3);
+        assertThat(index.search("gadget", 100)).isEmpty();
+    }
+
+    @Test
+    void search_shouldRequireAdjacentTrigrams() {
+        // Given a name that has every trigram of "abcd" but not "abcd" itself
+        var index = new TrigramIndex();
+        index.put(1, "abcXbcd");
+
+        // Then
+        assertThat(index.search("abcd", 100)).isEmpty();
+    }
+
+    @Test
+    void search_shouldReturnNull_forShortQueriesOrTooManyMatches() {
+        // Given
+        var index = new TrigramIndex();
+        index.put(1, "Widget");
+        index.put(2, "Widget");
+
+        // Then
+        assertThat(index.search("wi", 100)).isNull();
+        assertThat(index.search("widget", 1)).isNull();
+    }
+
+    @Test
+    void put_shouldReplacePreviousName_andRemoveShouldDropIt() {
+        // Given
+        var index = new TrigramIndex();
+        index.put(1, "Steel Widget");
+
+        // When
+        index.put(1, "Steel Gadget");
+
+        // Then
+        assertThat(index.search("widget", 100)).isEmpty();
+        assertThat(index.search("steel", 100)).containsExactly(1);
+
+        // When
+        index.remove(1);
+
+        // Then
+        assertThat(index.search("steel", 100)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void putIfAbsent_shouldKeepNewerEntry() {
+        var index = new TrigramIndex();
+        index.put(1, "Renamed");
+
+        assertThat(index.putIfAbsent(1, "Original")).isFalse();
+        assertThat(index.search("renamed", 100)).containsExactly(1);
+    }
+}
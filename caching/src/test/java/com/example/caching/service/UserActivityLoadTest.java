@@ -0,0 +1,155 @@
+package com.example.caching.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares activity recording against a real Redis: the previous three-command sequence, the
+ * single script call, and the pipelined batch. The default test checks the Redis commands the
+ * client sent per event, counted from {@code INFO commandstats} (commands run inside scripts
+ * excluded). The throughput run is tagged {@code load} and only runs with {@code ./gradlew :caching:loadTest}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserActivityLoadTest {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final Set<String> LEGACY_COMMANDS = Set.of("rpush", "ltrim", "expire");
+    private static final Set<String> SCRIPT_COMMANDS = Set.of("evalsha", "eval", "script|load");
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:8.4-alpine")
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private UserService userService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        userService = new UserService(redisTemplate);
+    }
+
+    @Test
+    void recordActivities_shouldUseOneCommandPerEventOrFewer() {
+        // 50 users, so the batch run gives each of them MAX_ACTIVITIES entries
+        var legacy = measure("legacy", 500, 50, LEGACY_COMMANDS, this::recordLegacy);
+        var script = measure("script", 500, 50, SCRIPT_COMMANDS, this::recordWithScript);
+        var batch = measure("batch", 5_000, 50, SCRIPT_COMMANDS, this::recordInBatches);
+
+        assertThat(legacy.commandsPerEvent()).isEqualTo(3.0);
+        // The first script call may add a NOSCRIPT EVALSHA + EVAL
+        assertThat(script.commandsPerEvent()).isLessThan(1.01);
+        assertThat(batch.commandsPerEvent()).isLessThan(0.6);
+        assertThat(redisTemplate.opsForList().size("user:activities:user0")).isEqualTo(UserService.MAX_ACTIVITIES);
+    }
+
+    @Test
+    @Tag("load")
+    void recordActivities_throughput() {
+        var results = List.of(
+                measure("legacy (RPUSH, LTRIM, EXPIRE)", 5_000, 500, LEGACY_COMMANDS, this::recordLegacy),
+                measure("script", 5_000, 500, SCRIPT_COMMANDS, this::recordWithScript),
+                measure("pipelined batch of " + BATCH_SIZE, 50_000, 500, SCRIPT_COMMANDS, this::recordInBatches));
+
+        results.forEach(result -> System.out.printf("%-32s %,12.0f events/s %8.2f commands/event%n",
+                result.name(), result.eventsPerSecond(), result.commandsPerEvent()));
+    }
+
+    private void recordLegacy(int events, int users) {
+        for (int i = 0; i < events; i++) {
+            var key = "user:activities:user" + (i % users);
+            redisTemplate.opsForList().rightPush(key, "activity " + i);
+            redisTemplate.opsForList().trim(key, -100, -1);
+            redisTemplate.expire(key, Duration.ofDays(7));
+        }
+    }
+
+    private void recordWithScript(int events, int users) {
+        for (int i = 0; i < events; i++) {
+            userService.addUserActivity("user" + (i % users), "activity " + i);
+        }
+    }
+
+    private void recordInBatches(int events, int users) {
+        for (int start = 0; start < events; start += BATCH_SIZE) {
+            userService.addUserActivities(batch(start, users));
+        }
+    }
+
+    private static Map<String, List<String>> batch(int start, int users) {
+        var activitiesByUser = new LinkedHashMap<String, List<String>>();
+        for (int i = start; i < start + BATCH_SIZE; i++) {
+            activitiesByUser.computeIfAbsent("user" + (i % users), user -> new ArrayList<>()).add("activity " + i);
+        }
+        return activitiesByUser;
+    }
+
+    private static Result measure(String name, int events, int users, Set<String> clientCommands, Workload workload) {
+        var commandsBefore = calls(clientCommands);
+        var start = System.nanoTime();
+        workload.run(events, users);
+        var seconds = (System.nanoTime() - start) / 1e9;
+        var commands = calls(clientCommands) - commandsBefore;
+        return new Result(name, events / seconds, (double) commands / events);
+    }
+
+    private static long calls(Set<String> commands) {
+        var stats = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        long calls = 0;
+        for (var command : commands) {
+            // cmdstat_<command>:calls=<n>,usec=...
+            var line = stats.getProperty("cmdstat_" + command);
+            if (line != null) {
+                calls += Long.parseLong(line.substring("calls=".length(), line.indexOf(',')));
+            }
+        }
+        return calls;
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run(int events, int users);
+    }
+
+    private record Result(String name, double eventsPerSecond, double commandsPerEvent) {
+    }
+}
@@ -6,15 +6,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,19 +34,33 @@ class UserServiceTest {
     private UserService userService;
 
     @Test
-    void addUserActivity_shouldAddActivityAndSetTTL() {
-        // Given
-        when(redisTemplate.opsForList()).thenReturn(listOperations);
-        when(listOperations.rightPush(any(), any())).thenReturn(1L);
-        when(redisTemplate.expire(any(), any(Duration.class))).thenReturn(true);
-
+    void addUserActivity_shouldPushTrimAndSetTTLInOneScriptCall() {
         // When
         userService.addUserActivity("user123", "Logged in");
 
         // Then
-        verify(listOperations).rightPush("user:activities:user123", "Logged in");
-        verify(listOperations).trim("user:activities:user123", -100, -1);
-        verify(redisTemplate).expire("user:activities:user123", Duration.ofDays(7));
+        verify(redisTemplate).execute(UserService.RECORD, List.of("user:activities:user123"),
+                "100", String.valueOf(Duration.ofDays(7).toMillis()), "Logged in");
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    void addUserActivities_shouldWriteAllUsersInOnePipeline() {
+        // When
+        userService.addUserActivities(Map.of("user1", List.of("Logged in"), "user2", List.of("Logged in", "Logged out")));
+
+        // Then
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    void addUserActivities_shouldWriteNothing_whenAnyEntryIsInvalid() {
+        // When / Then
+        assertThatThrownBy(() -> userService.addUserActivities(Map.of("user1", List.of("Logged in"), "user2", List.of(""))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("activity cannot be null or blank");
+        verifyNoInteractions(redisTemplate);
     }
 
     @Test